@@ -1,4 +1,7 @@
 import presentation.ViewManager;
+import utils.BackgroundExecutor;
+import utils.BootstrapReport;
+import utils.HibernateUtil;
 
 import javax.swing.*;
 
@@ -17,6 +20,7 @@ public class Main {
      * <p>
      * This method initializes the user interface by creating an instance of `ViewManager`.
      * The `ViewManager` is responsible for managing the view and coordinating with other components in the application.
+     * The Hibernate SessionFactory is built in the background at the same time, so the window appears without waiting for it.
      * </p>
      * <p>
      * The method is executed in the Event Dispatch Thread (EDT) to ensure thread-safety when working with Swing components.
@@ -25,6 +29,14 @@ public class Main {
      * @param args command-line arguments (not used in this application)
      */
     public static void main(String[] args) {
+        // Build the SessionFactory in the background while the mode selection view is shown
+        HibernateUtil.startBootstrap()
+                .thenAccept(BootstrapReport::log)
+                .exceptionally(error -> {
+                    BackgroundExecutor.unwrap(error).printStackTrace();
+                    return null;
+                });
+
         // Launch the ViewManager on the EDT thread
         SwingUtilities.invokeLater(ViewManager::new);
     }
@@ -0,0 +1,209 @@
+package data.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process cache region holding entities by ID.
+ * <p>
+ * The region is bounded by a maximum number of entries, evicting the least recently used entry when it is full,
+ * and entries expire after a time-to-live. Both limits are read from system properties named after the region,
+ * for example {@code library.cache.book.max-entries} and {@code library.cache.book.ttl-seconds}.
+ * A time-to-live of zero keeps entries until they are evicted or invalidated.
+ * </p>
+ * <p>
+ * Cached entities are detached and shared between callers, so they must be treated as read-only.
+ * </p>
+ * <p>
+ * Every eviction raises a version counter of the evicted ID. A caller loading an entity on a miss reads the
+ * version with {@link #getVersion(int)} before the load and stores the result with
+ * {@link #putIfCurrent(int, Object, long)}, which refuses it if the ID was evicted in between. This keeps a load
+ * that read the old row from putting it back after the change that evicted it.
+ * </p>
+ *
+ * @param <T> the type of the cached entities
+ */
+public class CacheRegion<T> {
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_TTL_SECONDS = 600;
+    private static final int VERSION_STRIPES = 64;  // Number of eviction counters the IDs are spread over
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Entries in access order, so the eldest entry is the least recently used one
+    private final LinkedHashMap<Integer, Entry<T>> entries;
+
+    // Eviction counters, each shared by the IDs that are equal modulo the number of stripes
+    private final long[] versions = new long[VERSION_STRIPES];
+
+    /**
+     * Constructs a cache region with the given limits.
+     *
+     * @param name       the name of the region, used in statistics
+     * @param maxEntries the maximum number of cached entities
+     * @param ttl        the time after which an entry expires, or {@link Duration#ZERO} to never expire
+     */
+    public CacheRegion(String name, int maxEntries, Duration ttl) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache region " + name + " must hold at least one entry.");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry<T>> eldest) {
+                if (size() > CacheRegion.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Constructs a cache region whose limits are read from the system properties of the region,
+     * falling back to 1000 entries and a ten minute time-to-live.
+     *
+     * @param name the name of the region
+     * @param <T>  the type of the cached entities
+     * @return the configured cache region
+     */
+    public static <T> CacheRegion<T> configured(String name) {
+        String prefix = "library.cache." + name + ".";
+        return new CacheRegion<>(
+                name,
+                Integer.getInteger(prefix + "max-entries", DEFAULT_MAX_ENTRIES),
+                Duration.ofSeconds(Long.getLong(prefix + "ttl-seconds", DEFAULT_TTL_SECONDS))
+        );
+    }
+
+    /**
+     * Returns the cached entity with the given ID.
+     *
+     * @param id the ID of the entity
+     * @return the cached entity, or null if it is not cached or has expired
+     */
+    public synchronized T get(int id) {
+        Entry<T> entry = entries.get(id);
+        if (entry != null && isExpired(entry)) {
+            entries.remove(id);
+            evictions.incrementAndGet();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value();
+    }
+
+    /**
+     * Stores an entity in the cache.
+     *
+     * @param id     the ID of the entity
+     * @param entity the entity to cache
+     */
+    public synchronized void put(int id, T entity) {
+        entries.put(id, new Entry<>(entity, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Returns the eviction version of an ID, to be passed to {@link #putIfCurrent(int, Object, long)}
+     * after the entity has been loaded.
+     *
+     * @param id the ID of the entity
+     * @return the current version of the ID
+     */
+    public synchronized long getVersion(int id) {
+        return versions[Math.floorMod(id, VERSION_STRIPES)];
+    }
+
+    /**
+     * Stores an entity in the cache, unless the ID has been evicted since the given version was read.
+     *
+     * @param id      the ID of the entity
+     * @param entity  the entity to cache
+     * @param version the version of the ID read before the entity was loaded
+     * @return true if the entity was stored
+     */
+    public synchronized boolean putIfCurrent(int id, T entity, long version) {
+        if (versions[Math.floorMod(id, VERSION_STRIPES)] != version) {
+            return false;
+        }
+        put(id, entity);
+        return true;
+    }
+
+    /**
+     * Removes the entity with the given ID, for example after it has been updated or deleted.
+     * Loads of the ID that are still running are not cached afterwards.
+     *
+     * @param id the ID of the entity
+     */
+    public synchronized void evict(int id) {
+        versions[Math.floorMod(id, VERSION_STRIPES)]++;
+        if (entries.remove(id) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes all entities from the cache.
+     * Loads that are still running are not cached afterwards.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < versions.length; i++) {
+            versions[i]++;
+        }
+        evictions.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * Returns the current usage counters of the region.
+     * Expired entries are purged first, so the reported size only counts live entries.
+     *
+     * @return the statistics of the region
+     */
+    public synchronized CacheStatistics getStatistics() {
+        Iterator<Entry<T>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next())) {
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return new CacheStatistics(name, hits.get(), misses.get(), evictions.get(), entries.size());
+    }
+
+    /**
+     * Checks whether an entry has outlived the time-to-live of the region.
+     *
+     * @param entry the entry to check
+     * @return true if the entry is stale
+     */
+    private boolean isExpired(Entry<T> entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.expiresAt() > 0;
+    }
+
+    /**
+     * A cached entity together with the time at which it expires.
+     *
+     * @param value     the cached entity
+     * @param expiresAt the {@link System#nanoTime()} value after which the entry is stale
+     */
+    private record Entry<T>(T value, long expiresAt) {
+    }
+}
@@ -0,0 +1,23 @@
+package data.cache;
+
+/**
+ * Snapshot of the usage counters of a {@link CacheRegion}.
+ *
+ * @param region    the name of the region
+ * @param hits      the number of lookups answered from the cache
+ * @param misses    the number of lookups that had to go to the database
+ * @param evictions the number of entries removed because of the size limit, expiry or invalidation
+ * @param size      the number of entries currently cached
+ */
+public record CacheStatistics(String region, long hits, long misses, long evictions, int size) {
+
+    /**
+     * Returns the share of lookups answered from the cache.
+     *
+     * @return the hit ratio between 0 and 1, or 0 if there were no lookups
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,22 @@
+package data.constants;
+
+/**
+ * Enum representing the kind of change made to a stored entity.
+ */
+public enum ChangeType {
+
+    /**
+     * A new entity has been saved.
+     */
+    INSERT,
+
+    /**
+     * An existing entity has been updated.
+     */
+    UPDATE,
+
+    /**
+     * An entity has been deleted.
+     */
+    DELETE
+}
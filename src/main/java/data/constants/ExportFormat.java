@@ -0,0 +1,48 @@
+package data.constants;
+
+/**
+ * Enum representing the file formats a table can be exported to.
+ * Each constant carries the file extension of the format.
+ */
+public enum ExportFormat {
+
+    /**
+     * Comma-separated values, with a header line of column names, as described by RFC 4180.
+     */
+    CSV("csv"),
+
+    /**
+     * JSON Lines: one JSON object per row, keyed by column name.
+     */
+    JSON_LINES("jsonl");
+
+    private final String extension;
+
+    /**
+     * Constructor to initialize the file extension associated with the enum constant.
+     *
+     * @param extension The file extension of the format, without the dot.
+     */
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Retrieves the file extension associated with the enum constant.
+     *
+     * @return The file extension, without the dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Returns the format of a file, judged by the extension of its name.
+     *
+     * @param fileName The name of the file.
+     * @return JSON_LINES for files ending in ".jsonl", CSV for all other files.
+     */
+    public static ExportFormat ofFileName(String fileName) {
+        return fileName.toLowerCase().endsWith("." + JSON_LINES.extension) ? JSON_LINES : CSV;
+    }
+}
@@ -0,0 +1,43 @@
+package data.constants;
+
+/**
+ * Enum representing the loading state of a table in the UI.
+ * Each constant carries the status text shown next to the table header.
+ */
+public enum LoadState {
+
+    /**
+     * The data of the table is being read from the database.
+     */
+    LOADING("loading..."),
+
+    /**
+     * The data of the table is available.
+     */
+    READY(""),
+
+    /**
+     * Reading the data of the table has failed.
+     */
+    FAILED("failed to load");
+
+    private final String status;
+
+    /**
+     * Constructor to initialize the status text associated with the enum constant.
+     *
+     * @param status The text describing the state, empty if nothing should be shown.
+     */
+    LoadState(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Retrieves the status text associated with the enum constant.
+     *
+     * @return The text describing the state.
+     */
+    public String getStatus() {
+        return status;
+    }
+}
@@ -45,4 +45,19 @@ public enum Tables {
     public Class<?> getEntityClass() {
         return entityClass;
     }
+
+    /**
+     * Finds the table holding the given entity class.
+     *
+     * @param entityClass the class of the entity
+     * @return the table of the entity class, or null if it is not shown in a table
+     */
+    public static Tables of(Class<?> entityClass) {
+        for (Tables table : values()) {
+            if (table.entityClass.equals(entityClass)) {
+                return table;
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
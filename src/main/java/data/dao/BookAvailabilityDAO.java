@@ -0,0 +1,203 @@
+package data.dao;
+
+import data.entities.BookAvailability;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import utils.HibernateUtil;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data Access Object (DAO) for the {@link BookAvailability} counters of books.
+ * <p>
+ * The counters are not written through the generic operations of {@link DAO}. They are adjusted in the transaction
+ * of every change to books, copies and borrowings: by {@link BookDAO}, {@link CopyDAO} and {@link BorrowingDAO}
+ * for single and bulk writes, and by {@link CirculationService} for checkouts and checkins. Each adjustment adds the
+ * difference made by the change, so it touches a single row regardless of how many copies a book has.
+ * </p>
+ * <p>
+ * Rows written without going through the DAOs, such as generated test data, leave the counters out of date.
+ * {@link #findInconsistentBooks()} compares them with the stored copies and borrowings, and {@link #rebuild()}
+ * recomputes all of them.
+ * </p>
+ */
+public class BookAvailabilityDAO extends DAO<BookAvailability> {
+
+    // Counts the copies and open borrowings of every book, in the columns of the book_availability table
+    private static final String COUNTS = "SELECT b.id AS bookId, COUNT(c.id) AS totalCopies, "
+            + "COUNT(CASE WHEN c.status = 'Available' THEN 1 END) AS availableCopies, "
+            + "(SELECT COUNT(*) FROM borrowing r JOIN copy rc ON rc.id = r.COPYID "
+            + "WHERE rc.bookId = b.id AND r.returnDate IS NULL) AS onLoan "
+            + "FROM book b LEFT JOIN copy c ON c.bookId = b.id GROUP BY b.id";
+
+    // Whether the table has been checked to hold a row for every book since the application started
+    private static volatile boolean verified;
+
+    /**
+     * Returns no columns, since the counters are not shown in a table of their own.
+     *
+     * @return An empty list.
+     */
+    @Override
+    public List<String> getColumnNames() {
+        return List.of();
+    }
+
+    /**
+     * Returns the class type of the BookAvailability entity.
+     *
+     * @return The class type of the BookAvailability entity.
+     */
+    @Override
+    protected Class<BookAvailability> getEntityClass() {
+        return BookAvailability.class;
+    }
+
+    /**
+     * Finds the books whose counters differ from their stored copies and borrowings.
+     * Books without counters and counters of deleted books are included.
+     *
+     * @return The IDs of the inconsistent books, in ascending order.
+     */
+    public List<Integer> findInconsistentBooks() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createNativeQuery(
+                            "SELECT n.bookId FROM (" + COUNTS + ") n "
+                                    + "LEFT JOIN book_availability a ON a.bookId = n.bookId "
+                                    + "WHERE a.bookId IS NULL OR a.totalCopies <> n.totalCopies "
+                                    + "OR a.availableCopies <> n.availableCopies OR a.onLoan <> n.onLoan "
+                                    + "UNION SELECT a.bookId FROM book_availability a "
+                                    + "WHERE NOT EXISTS (SELECT 1 FROM book b WHERE b.id = a.bookId) "
+                                    + "ORDER BY 1",
+                            Integer.class)
+                    .list();
+        }
+    }
+
+    /**
+     * Recomputes the counters of all books from the stored copies and borrowings, in a single transaction.
+     *
+     * @throws RuntimeException If the transaction fails.
+     */
+    public void rebuild() {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            session.createNativeMutationQuery("DELETE FROM book_availability").executeUpdate();
+            session.createNativeMutationQuery(
+                            "INSERT INTO book_availability (bookId, totalCopies, availableCopies, onLoan) " + COUNTS)
+                    .executeUpdate();
+            transaction.commit();
+            verified = true;
+            invalidateCache();  // The counters were written without going through the entities
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            e.printStackTrace();
+            throw new RuntimeException("Failed to rebuild book availability", e);
+        }
+    }
+
+    /**
+     * Builds the counters if they are missing for some books, which is the case after the table has been added
+     * to an existing database. The check runs once per application start.
+     */
+    static void ensureBuilt() {
+        if (verified) {
+            return;
+        }
+        synchronized (BookAvailabilityDAO.class) {
+            if (!verified) {
+                BookAvailabilityDAO dao = new BookAvailabilityDAO();
+                if (dao.count() != new BookDAO().count()) {
+                    dao.rebuild();
+                }
+                verified = true;
+            }
+        }
+    }
+
+    /**
+     * Adds zero counters for a new book, in the transaction inserting the book.
+     *
+     * @param session The session of the transaction.
+     * @param bookId  The ID of the new book.
+     */
+    static void create(Session session, int bookId) {
+        BookAvailability availability = new BookAvailability();
+        availability.setBookId(bookId);
+        session.persist(availability);
+    }
+
+    /**
+     * Removes the counters of a book, in the transaction deleting the book.
+     *
+     * @param session The session of the transaction.
+     * @param bookId  The ID of the deleted book.
+     */
+    static void remove(Session session, int bookId) {
+        session.createMutationQuery("DELETE FROM BookAvailability a WHERE a.bookId = :bookId")
+                .setParameter("bookId", bookId)
+                .executeUpdate();
+    }
+
+    /**
+     * Adds the differences made by a change to the counters of a book, in the transaction of the change.
+     * The row is updated in place by the database, so concurrent changes of the same book are all counted.
+     *
+     * @param session         The session of the transaction.
+     * @param bookId          The ID of the book.
+     * @param totalCopies     The change in the number of copies.
+     * @param availableCopies The change in the number of available copies.
+     * @param onLoan          The change in the number of open borrowings.
+     */
+    static void adjust(Session session, int bookId, int totalCopies, int availableCopies, int onLoan) {
+        if (totalCopies == 0 && availableCopies == 0 && onLoan == 0) {
+            return;
+        }
+        session.createMutationQuery("UPDATE BookAvailability a SET a.totalCopies = a.totalCopies + :totalCopies, "
+                        + "a.availableCopies = a.availableCopies + :availableCopies, a.onLoan = a.onLoan + :onLoan "
+                        + "WHERE a.bookId = :bookId")
+                .setParameter("totalCopies", totalCopies)
+                .setParameter("availableCopies", availableCopies)
+                .setParameter("onLoan", onLoan)
+                .setParameter("bookId", bookId)
+                .executeUpdate();
+    }
+
+    /**
+     * Sums the differences made by the changes of a batch per book, so that each book is adjusted once per batch
+     * rather than once per changed entity.
+     */
+    static final class Deltas {
+
+        // Changes in the total copies, available copies and open borrowings, by book ID in a fixed lock order
+        private final Map<Integer, int[]> byBook = new TreeMap<>();
+
+        /**
+         * Adds the differences made by a change to the sums of a book.
+         *
+         * @param bookId          The ID of the book.
+         * @param totalCopies     The change in the number of copies.
+         * @param availableCopies The change in the number of available copies.
+         * @param onLoan          The change in the number of open borrowings.
+         */
+        void add(int bookId, int totalCopies, int availableCopies, int onLoan) {
+            int[] sums = byBook.computeIfAbsent(bookId, id -> new int[3]);
+            sums[0] += totalCopies;
+            sums[1] += availableCopies;
+            sums[2] += onLoan;
+        }
+
+        /**
+         * Adjusts the counters of every book by its sums, in the transaction of the batch.
+         *
+         * @param session The session of the transaction.
+         */
+        void apply(Session session) {
+            byBook.forEach((bookId, sums) -> adjust(session, bookId, sums[0], sums[1], sums[2]));
+            byBook.clear();
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package data.dao;
 
 import data.annotations.Display;
+import data.cache.CacheRegion;
+import data.constants.ChangeType;
 import data.entities.Book;
+import data.entities.BookAvailability;
+import data.search.SearchIndex;
 import org.hibernate.Session;
 import utils.HibernateUtil;
 
@@ -15,6 +19,16 @@ import java.util.List;
  */
 public class BookDAO extends DAO<Book> {
 
+    // Joins the availability counters of Book b, restricted to books with at least one available copy
+    private static final String AVAILABLE_JOIN =
+            " JOIN BookAvailability a ON a.bookId = b.id AND a.availableCopies > 0";
+
+    // Shared by all BookDAO instances, since the DAO factory creates a new DAO per request
+    private static final CacheRegion<Book> CACHE_REGION = CacheRegion.configured("book");
+
+    // Shared by all BookDAO instances, so every write keeps the same index up to date
+    private static final SearchIndex<Book> SEARCH_INDEX = new SearchIndex<>(Book::getId, Book::getTitle, Book::getAuthor, Book::getIsbn);
+
     /**
      * Retrieves the column names for the Book entity.
      * This method uses reflection to find fields that are annotated with {@link Display}.
@@ -30,6 +44,55 @@ public class BookDAO extends DAO<Book> {
                 .toList();
     }
 
+    /**
+     * Returns the cache region for Book entities, which are read far more often than they are written.
+     *
+     * @return The shared cache region for Book entities.
+     */
+    @Override
+    protected CacheRegion<Book> getCacheRegion() {
+        return CACHE_REGION;
+    }
+
+    /**
+     * Returns the search index over the title, author and ISBN of Book entities.
+     *
+     * @return The shared search index for Book entities.
+     */
+    @Override
+    protected SearchIndex<Book> getSearchIndex() {
+        return SEARCH_INDEX;
+    }
+
+    /**
+     * Fetches its publisher together with each Book.
+     *
+     * @param alias The alias of the Book in the query.
+     * @return The fetch clauses for the associations of the Book.
+     */
+    @Override
+    protected String getFetchJoins(String alias) {
+        return joinFetch(alias, "publisher");
+    }
+
+    /**
+     * Adds the availability counters of new books, and removes those of deleted books.
+     *
+     * @param session The session of the write.
+     * @param type    The kind of change.
+     * @param books   The changed books.
+     */
+    @Override
+    protected void onWrite(Session session, ChangeType type, List<Book> books) {
+        for (Book book : books) {
+            if (type == ChangeType.INSERT) {
+                BookAvailabilityDAO.create(session, book.getId());
+            } else if (type == ChangeType.DELETE) {
+                BookAvailabilityDAO.remove(session, book.getId());
+            }
+        }
+    }
+
     /**
      * Returns the class type of the Book entity.
      *
@@ -40,13 +103,60 @@ public class BookDAO extends DAO<Book> {
         return Book.class;
     }
 
-    public long getActiveBorrowingsCount(int bookId) {
+    /**
+     * Counts the books that have at least one available copy.
+     * Only the availability counters are read, using their index on the number of available copies.
+     *
+     * @return The number of available books.
+     */
+    public long countAvailableBooks() {
+        BookAvailabilityDAO.ensureBuilt();
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             return session.createQuery(
-                            "SELECT COUNT(b) FROM Borrowing b WHERE b.copy.book.id = :bookId AND b.returnDate IS NULL",
-                            Long.class)
-                    .setParameter("bookId", bookId)
+                            "SELECT COUNT(a) FROM BookAvailability a WHERE a.availableCopies > 0", Long.class)
                     .getSingleResult();
         }
     }
+
+    /**
+     * Retrieves a page of the books that have at least one available copy, ordered by ID.
+     * Availability is read from the counters of each book, so the copies of the books are not counted.
+     *
+     * @param offset The number of books to skip.
+     * @param limit  The maximum number of books to return.
+     * @return The page of available books, with the offset of the next page as its continuation token.
+     */
+    public Page<Book> getAvailableBooks(int offset, int limit) {
+        BookAvailabilityDAO.ensureBuilt();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            List<Book> items = session.createQuery(
+                            "SELECT b FROM Book b" + getFetchJoins("b") + AVAILABLE_JOIN + " ORDER BY b.id", Book.class)
+                    .setFirstResult(offset)
+                    .setMaxResults(limit)
+                    .list();
+            return new Page<>(items, items.size() < limit ? null : offset + items.size());
+        }
+    }
+
+    /**
+     * Returns the number of copies of a book that are on loan, read from the availability counters of the book.
+     *
+     * @param bookId The ID of the book.
+     * @return The number of borrowings of copies of the book that have not been returned.
+     */
+    public long getActiveBorrowingsCount(int bookId) {
+        BookAvailability availability = getAvailability(bookId);
+        return availability != null ? availability.getOnLoan() : 0;
+    }
+
+    /**
+     * Returns the availability counters of a book, read by the ID of the book.
+     *
+     * @param bookId The ID of the book.
+     * @return The counters of the book, or null if the book does not exist.
+     */
+    public BookAvailability getAvailability(int bookId) {
+        BookAvailabilityDAO.ensureBuilt();
+        return new BookAvailabilityDAO().getById(bookId);
+    }
 }
\ No newline at end of file
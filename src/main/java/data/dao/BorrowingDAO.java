@@ -1,13 +1,18 @@
 package data.dao;
 
 import data.annotations.Display;
+import data.constants.ChangeType;
 import data.entities.Borrowing;
 import org.hibernate.Session;
+import org.hibernate.query.Query;
 import utils.HibernateUtil;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object (DAO) for managing {@link Borrowing} entities.
@@ -30,6 +35,51 @@ public class BorrowingDAO extends DAO<Borrowing> {
                 .toList();
     }
 
+    /**
+     * Fetches its member and its copy, with the book and publisher of the copy together with each Borrowing.
+     *
+     * @param alias The alias of the Borrowing in the query.
+     * @return The fetch clauses for the associations of the Borrowing.
+     */
+    @Override
+    protected String getFetchJoins(String alias) {
+        return joinFetch(alias, "member")
+                + joinFetch(alias, "copy")
+                + joinFetch(alias + "_copy", "book")
+                + joinFetch(alias + "_copy_book", "publisher");
+    }
+
+    /**
+     * Keeps the number of copies on loan in the availability counters of the borrowed books: the stored state of
+     * each borrowing is taken off if it was open, and the new state is added if it is open. The stored states of
+     * the batch are read in one query, and a borrowing occurring again in the batch moves on from its previous state
+     * in the batch. The counters of each book are then adjusted once.
+     *
+     * @param session    The session of the write.
+     * @param type       The kind of change.
+     * @param borrowings The changed borrowings.
+     */
+    @Override
+    protected void onWrite(Session session, ChangeType type, List<Borrowing> borrowings) {
+        Map<Integer, Object[]> states = type == ChangeType.INSERT
+                ? new HashMap<>()
+                : storedStates(session, "e.copy.book.id, e.returnDate", borrowings.stream().map(Borrowing::getId).toList());
+        BookAvailabilityDAO.Deltas deltas = new BookAvailabilityDAO.Deltas();
+        for (Borrowing borrowing : borrowings) {
+            Object[] state = type == ChangeType.DELETE
+                    ? null
+                    : new Object[] {borrowing.getCopy().getBook().getId(), borrowing.getReturnDate()};
+            Object[] previous = state == null ? states.remove(borrowing.getId()) : states.put(borrowing.getId(), state);
+            if (previous != null && previous[1] == null) {
+                deltas.add((Integer) previous[0], 0, 0, -1);
+            }
+            if (state != null && borrowing.getReturnDate() == null) {
+                deltas.add(borrowing.getCopy().getBook().getId(), 0, 0, 1);
+            }
+        }
+        deltas.apply(session);
+    }
+
     /**
      * Returns the class type of the Borrowing entity.
      *
@@ -40,11 +90,89 @@ public class BorrowingDAO extends DAO<Borrowing> {
         return Borrowing.class;
     }
 
+    /**
+     * Retrieves all borrowings of a member, most recent first.
+     * This reads the whole history at once; use the paged overload for histories that may be long.
+     *
+     * @param userId The ID of the member.
+     * @return The borrowings of the member.
+     */
     public List<Borrowing> getBorrowingsByUserId(int userId) {
+        return getBorrowingsByUserId(userId, null, null, 0, Integer.MAX_VALUE).items();
+    }
+
+    /**
+     * Retrieves a page of the borrowings of a member, most recent first.
+     * The lookup uses the (MEMBERID, borrowDate) index, so its cost depends on the size of the history
+     * of the member rather than on the size of the borrowing table.
+     *
+     * @param userId The ID of the member.
+     * @param from   The earliest borrow date to include, or null for no lower bound.
+     * @param to     The latest borrow date to include, or null for no upper bound.
+     * @param offset The number of borrowings to skip.
+     * @param limit  The maximum number of borrowings to return.
+     * @return The page of borrowings, with the offset of the next page as its continuation token.
+     */
+    public Page<Borrowing> getBorrowingsByUserId(int userId, Date from, Date to, int offset, int limit) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("FROM Borrowing WHERE member.id = :userId", Borrowing.class)
-                    .setParameter("userId", userId)
+            Query<Borrowing> query = session.createQuery(
+                    "FROM Borrowing b" + getFetchJoins("b") + " WHERE " + historyCondition(from, to)
+                            + " ORDER BY b.borrowDate DESC, b.id DESC",
+                    Borrowing.class);
+            List<Borrowing> items = bindHistoryParameters(query, userId, from, to)
+                    .setFirstResult(offset)
+                    .setMaxResults(limit)
                     .list();
+            return new Page<>(items, items.size() < limit ? null : offset + items.size());
+        }
+    }
+
+    /**
+     * Counts the borrowings of a member within a date range.
+     *
+     * @param userId The ID of the member.
+     * @param from   The earliest borrow date to include, or null for no lower bound.
+     * @param to     The latest borrow date to include, or null for no upper bound.
+     * @return The number of matching borrowings.
+     */
+    public long countBorrowingsByUserId(int userId, Date from, Date to) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(
+                    "SELECT COUNT(b) FROM Borrowing b WHERE " + historyCondition(from, to), Long.class);
+            return bindHistoryParameters(query, userId, from, to).getSingleResult();
         }
     }
+
+    /**
+     * Builds the condition selecting the borrowings of a member within a date range.
+     * Bounds that are not given are left out of the query instead of being tested against null,
+     * so the database can use a range scan on the index.
+     *
+     * @param from The earliest borrow date, or null.
+     * @param to   The latest borrow date, or null.
+     * @return The condition on the borrowing alias "b".
+     */
+    private static String historyCondition(Date from, Date to) {
+        StringBuilder condition = new StringBuilder("b.member.id = :userId");
+        if (from != null) condition.append(" AND b.borrowDate >= :from");
+        if (to != null) condition.append(" AND b.borrowDate <= :to");
+        return condition.toString();
+    }
+
+    /**
+     * Binds the parameters of a condition built by {@link #historyCondition(Date, Date)}.
+     *
+     * @param query  The query to bind the parameters of.
+     * @param userId The ID of the member.
+     * @param from   The earliest borrow date, or null.
+     * @param to     The latest borrow date, or null.
+     * @param <R>    The result type of the query.
+     * @return The given query.
+     */
+    private static <R> Query<R> bindHistoryParameters(Query<R> query, int userId, Date from, Date to) {
+        query.setParameter("userId", userId);
+        if (from != null) query.setParameter("from", from);
+        if (to != null) query.setParameter("to", to);
+        return query;
+    }
 }
\ No newline at end of file
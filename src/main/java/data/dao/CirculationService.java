@@ -0,0 +1,198 @@
+package data.dao;
+
+import data.constants.ChangeType;
+import data.entities.Borrowing;
+import data.entities.Copy;
+import data.entities.Member;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.Transaction;
+import utils.HibernateUtil;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lends copies to members and takes them back.
+ * <p>
+ * A checkout creates the borrowing and marks the copy as borrowed, and a checkin sets the return date and marks
+ * the copy as available again, each in a single transaction. Copies are versioned, so when two transactions change
+ * the same copy at once, the one committing last fails. It is then retried from the start, reading the copy again:
+ * the second of two checkouts of the same copy finds it borrowed and is rejected, so a copy is never lent twice.
+ * </p>
+ * <p>
+ * Both operations keep the availability counters of the book up to date, see {@link BookAvailabilityDAO}.
+ * Committed changes are announced like the changes made through the DAOs of the entities.
+ * </p>
+ */
+public class CirculationService {
+
+    private static final String AVAILABLE_STATUS = "Available";  // Status of a copy that can be borrowed
+    private static final String BORROWED_STATUS = "Borrowed";    // Status of a copy that is lent to a member
+
+    private static final int MAX_ATTEMPTS = 5;        // Attempts of an operation that keeps running into conflicts
+    private static final int BACKOFF_MILLIS = 5;      // Upper bound of the pause before a retry, per failed attempt
+
+    private final BorrowingDAO borrowingDAO = new BorrowingDAO();
+    private final CopyDAO copyDAO = new CopyDAO();
+
+    /**
+     * Lends a copy to a member, borrowed as of today.
+     *
+     * @param memberId The ID of the borrowing member.
+     * @param copyId   The ID of the copy to lend.
+     * @return The ID of the new borrowing.
+     * @throws IllegalArgumentException If the member or the copy does not exist.
+     * @throws IllegalStateException    If the copy is not available.
+     * @throws RuntimeException         If the transaction fails, or keeps conflicting with other transactions.
+     */
+    public int checkout(int memberId, int copyId) {
+        Result result = runWithRetry("Failed to check out copy", session -> {
+            Member member = session.get(Member.class, memberId);
+            if (member == null) {
+                throw new IllegalArgumentException("Member with ID " + memberId + " does not exist.");
+            }
+            Copy copy = session.get(Copy.class, copyId);
+            if (copy == null) {
+                throw new IllegalArgumentException("Copy with ID " + copyId + " does not exist.");
+            }
+            if (!AVAILABLE_STATUS.equals(copy.getStatus())) {
+                throw new IllegalStateException("Copy with ID " + copyId + " is not available.");
+            }
+
+            copy.setStatus(BORROWED_STATUS);
+            Borrowing borrowing = new Borrowing();
+            borrowing.setMember(member);
+            borrowing.setCopy(copy);
+            borrowing.setBorrowDate(new Date());
+            session.persist(borrowing);
+
+            // Fails here if the copy has been changed meanwhile, before the shared counters of the book are locked
+            session.flush();
+            BookAvailabilityDAO.adjust(session, copy.getBook().getId(), 0, -1, 1);
+            return new Result(borrowing, copy);
+        });
+        borrowingDAO.afterCommit(ChangeType.INSERT, result.borrowing().getId(), result.borrowing());
+        copyDAO.afterCommit(ChangeType.UPDATE, copyId, result.copy());
+        return result.borrowing().getId();
+    }
+
+    /**
+     * Takes back the copy of a borrowing, returned today.
+     *
+     * @param borrowingId The ID of the borrowing.
+     * @throws IllegalArgumentException If the borrowing does not exist.
+     * @throws IllegalStateException    If the copy has been returned already.
+     * @throws RuntimeException         If the transaction fails, or keeps conflicting with other transactions.
+     */
+    public void checkin(int borrowingId) {
+        Result result = runWithRetry("Failed to check in copy", session -> {
+            Borrowing borrowing = session.get(Borrowing.class, borrowingId);
+            if (borrowing == null) {
+                throw new IllegalArgumentException("Borrowing with ID " + borrowingId + " does not exist.");
+            }
+            if (borrowing.getReturnDate() != null) {
+                throw new IllegalStateException("Borrowing with ID " + borrowingId + " has already been returned.");
+            }
+
+            Copy copy = borrowing.getCopy();
+            boolean wasAvailable = AVAILABLE_STATUS.equals(copy.getStatus());
+            borrowing.setReturnDate(new Date());
+            copy.setStatus(AVAILABLE_STATUS);
+
+            session.flush();
+            BookAvailabilityDAO.adjust(session, copy.getBook().getId(), 0, wasAvailable ? 0 : 1, -1);
+            return new Result(borrowing, copy);
+        });
+        borrowingDAO.afterCommit(ChangeType.UPDATE, borrowingId, result.borrowing());
+        copyDAO.afterCommit(ChangeType.UPDATE, result.copy().getId(), result.copy());
+    }
+
+    /**
+     * Runs an operation in a transaction of its own, retrying it in a new transaction as long as it conflicts with
+     * another transaction, up to {@value #MAX_ATTEMPTS} attempts. Rejections of the operation itself are not retried.
+     *
+     * @param failure   The message of the exception thrown if the operation fails.
+     * @param operation The operation, run with an open session.
+     * @return The result of the operation.
+     * @throws IllegalArgumentException If the operation rejects its arguments.
+     * @throws IllegalStateException    If the operation rejects the current state.
+     * @throws RuntimeException         If the transaction fails, or keeps conflicting.
+     */
+    private Result runWithRetry(String failure, Operation operation) {
+        for (int attempt = 1; ; attempt++) {
+            Transaction transaction = null;
+            try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+                transaction = session.beginTransaction();
+                Result result = operation.run(session);
+                session.flush();
+                transaction.commit();
+                return result;
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                if (transaction != null) transaction.rollback();
+                throw e;
+            } catch (Exception e) {
+                if (transaction != null && transaction.isActive()) transaction.rollback();
+                if (isConflict(e) && attempt < MAX_ATTEMPTS) {
+                    backOff(attempt);
+                    continue;
+                }
+                e.printStackTrace();
+                throw new RuntimeException(failure, e);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a failure was caused by another transaction changing or locking the same rows.
+     *
+     * @param e The failure.
+     * @return True if the operation may succeed when retried.
+     */
+    private static boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException
+                    || cause instanceof StaleStateException
+                    || cause instanceof PessimisticLockException
+                    || cause instanceof LockTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits a random time that grows with the number of failed attempts, so conflicting transactions
+     * do not retry in lockstep.
+     *
+     * @param attempt The number of failed attempts.
+     */
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(BACKOFF_MILLIS * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying", e);
+        }
+    }
+
+    /**
+     * An operation run in a transaction by {@link #runWithRetry(String, Operation)}.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        Result run(Session session);
+    }
+
+    /**
+     * The entities written by an operation, announced once the transaction has committed.
+     *
+     * @param borrowing The created or returned borrowing.
+     * @param copy      The lent or returned copy.
+     */
+    private record Result(Borrowing borrowing, Copy copy) {
+    }
+}
@@ -1,11 +1,15 @@
 package data.dao;
 
 import data.annotations.Display;
+import data.constants.ChangeType;
 import data.entities.Copy;
+import org.hibernate.Session;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object (DAO) for managing {@link Copy} entities.
@@ -13,6 +17,9 @@ import java.util.List;
  */
 public class CopyDAO extends DAO<Copy> {
 
+    // Status of a copy that can be borrowed
+    private static final String AVAILABLE_STATUS = "Available";
+
     /**
      * Retrieves the column names for the Copy entity.
      * This method uses reflection to find fields that are annotated with {@link Display}.
@@ -28,6 +35,47 @@ public class CopyDAO extends DAO<Copy> {
                 .toList();
     }
 
+    /**
+     * Fetches its book and the publisher of the book together with each Copy.
+     *
+     * @param alias The alias of the Copy in the query.
+     * @return The fetch clauses for the associations of the Copy.
+     */
+    @Override
+    protected String getFetchJoins(String alias) {
+        return joinFetch(alias, "book")
+                + joinFetch(alias + "_book", "publisher");
+    }
+
+    /**
+     * Moves the copies between the availability counters of their books: the stored state of each copy is taken off
+     * the counters of its former book, and its new state is added to those of its current book. The stored states
+     * of the batch are read in one query, and a copy occurring again in the batch moves on from its previous state
+     * in the batch. The counters of each book are then adjusted once.
+     *
+     * @param session The session of the write.
+     * @param type    The kind of change.
+     * @param copies  The changed copies.
+     */
+    @Override
+    protected void onWrite(Session session, ChangeType type, List<Copy> copies) {
+        Map<Integer, Object[]> states = type == ChangeType.INSERT
+                ? new HashMap<>()
+                : storedStates(session, "e.book.id, e.status", copies.stream().map(Copy::getId).toList());
+        BookAvailabilityDAO.Deltas deltas = new BookAvailabilityDAO.Deltas();
+        for (Copy copy : copies) {
+            Object[] state = type == ChangeType.DELETE ? null : new Object[] {copy.getBook().getId(), copy.getStatus()};
+            Object[] previous = state == null ? states.remove(copy.getId()) : states.put(copy.getId(), state);
+            if (previous != null) {
+                deltas.add((Integer) previous[0], -1, AVAILABLE_STATUS.equals(previous[1]) ? -1 : 0, 0);
+            }
+            if (state != null) {
+                deltas.add(copy.getBook().getId(), 1, AVAILABLE_STATUS.equals(copy.getStatus()) ? 1 : 0, 0);
+            }
+        }
+        deltas.apply(session);
+    }
+
     /**
      * Returns the class type of the Copy entity.
      *
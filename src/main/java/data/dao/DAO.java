@@ -1,31 +1,64 @@
 package data.dao;
 
+import data.cache.CacheRegion;
+import data.cache.CacheStatistics;
+import data.constants.ChangeType;
+import data.dependencies.QuerySpec;
+import data.events.EntityChangeBus;
+import data.events.EntityChangeEvent;
+import data.search.SearchIndex;
+import jakarta.persistence.Entity;
 import utils.HibernateUtil;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.query.Query;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * A generic Data Access Object (DAO) class that provides basic CRUD operations for entities.
  * This class uses Hibernate to interact with the database.
+ * Every committed insert, update and delete is announced on the {@link EntityChangeBus}.
  *
  * @param <T> The type of entity that this DAO will manage.
  */
 public abstract class DAO<T> {
 
+    private static final int SEARCH_INDEX_PAGE_SIZE = 1000;  // Entities read per query when filling the search index
+    private static final int SCROLL_FETCH_SIZE = 500;        // Rows fetched from the database at a time by scrollAll
+    private static final int SCROLL_CLEAR_INTERVAL = 1000;   // Entities read by scrollAll between session clears
+
     /**
      * Saves a new entity to the database.
+     * The generated ID is read from the persisted entity, so no additional query is needed to obtain it.
      *
      * @param entity The entity to be saved.
+     * @return The ID generated for the entity.
      * @throws RuntimeException If the transaction fails.
      */
-    public void save(T entity) {
+    public int save(T entity) {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
-            session.save(entity);
+            session.persist(entity);
+            session.flush();
+            int id = (Integer) session.getIdentifier(entity);
+            onWrite(session, ChangeType.INSERT, List.of(entity));
             transaction.commit();
+            afterCommit(ChangeType.INSERT, id, entity);
+            return id;
         } catch (Exception e) {
             if (transaction != null) transaction.rollback();
             e.printStackTrace();
@@ -33,14 +66,197 @@ public abstract class DAO<T> {
         }
     }
 
+    /**
+     * Saves new entities to the database in a single transaction, using the configured JDBC batch size.
+     *
+     * @param entities The entities to be saved.
+     * @throws RuntimeException If the transaction fails.
+     * @see HibernateUtil#getBatchSize()
+     */
+    public void saveAll(Collection<T> entities) {
+        saveAll(entities, HibernateUtil.getBatchSize());
+    }
+
+    /**
+     * Saves new entities to the database in a single transaction.
+     * Statements are sent to the database in JDBC batches, and the session is flushed and cleared after every batch
+     * so that memory use does not grow with the number of entities. The generated IDs are set on the entities.
+     *
+     * @param entities  The entities to be saved.
+     * @param batchSize The number of entities written per batch.
+     * @throws RuntimeException If the transaction fails.
+     */
+    public void saveAll(Collection<T> entities, int batchSize) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(batchSize);
+            transaction = session.beginTransaction();
+            List<Integer> ids = new ArrayList<>(entities.size());
+            List<T> batch = new ArrayList<>(Math.min(batchSize, entities.size()));
+            for (T entity : entities) {
+                session.persist(entity);
+                ids.add((Integer) session.getIdentifier(entity));
+                batch.add(entity);
+                if (batch.size() == batchSize) {
+                    onWrite(session, ChangeType.INSERT, batch);
+                    batch.clear();
+                    session.flush();
+                    session.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                onWrite(session, ChangeType.INSERT, batch);
+            }
+            transaction.commit();
+            afterCommit(ChangeType.INSERT, ids, entities);
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            e.printStackTrace();
+            throw new RuntimeException("Failed to save entities", e);
+        }
+    }
+
     /**
      * Retrieves all entities of type T from the database.
+     * The associations of the entities are fetched in the same statement, see {@link #getFetchJoins(String)}.
      *
      * @return A list of all entities of type T.
      */
     public List<T> getAll() {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("from " + getEntityClass().getName(), getEntityClass()).list();
+            return session.createQuery("from " + getEntityClass().getName() + " e" + getFetchJoins("e"), getEntityClass())
+                    .list();
+        }
+    }
+
+    /**
+     * Passes every entity of type T to the consumer, ordered by ID, reading them through a forward-only cursor.
+     * The entities are read-only and the session is cleared every {@value #SCROLL_CLEAR_INTERVAL} entities,
+     * so entities that have been passed on are not kept, and memory use does not grow with the size of the table.
+     * The associations of the entities are fetched in the same statement, see {@link #getFetchJoins(String)}.
+     *
+     * @param consumer The consumer of the entities; it must not keep them beyond the call.
+     * @return The number of entities read.
+     */
+    public long scrollAll(Consumer<? super T> consumer) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession();
+             ScrollableResults<T> results = session.createQuery(
+                             "from " + getEntityClass().getName() + " e" + getFetchJoins("e") + " order by e.id",
+                             getEntityClass())
+                     .setReadOnly(true)
+                     .setFetchSize(SCROLL_FETCH_SIZE)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            long count = 0;
+            while (results.next()) {
+                consumer.accept(results.get());
+                if (++count % SCROLL_CLEAR_INTERVAL == 0) {
+                    session.clear();
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Counts all entities of type T in the database.
+     *
+     * @return The number of stored entities.
+     */
+    public long count() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("select count(e) from " + getEntityClass().getName() + " e", Long.class)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Retrieves a page of entities ordered by ID, starting at the given offset.
+     *
+     * @param offset The number of rows to skip.
+     * @param limit  The maximum number of rows to return.
+     * @return The page of entities, with the offset of the next page as its continuation token.
+     */
+    public Page<T> getPage(int offset, int limit) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            List<T> items = session.createQuery(
+                            "from " + getEntityClass().getName() + " e" + getFetchJoins("e") + " order by e.id", getEntityClass())
+                    .setFirstResult(offset)
+                    .setMaxResults(limit)
+                    .list();
+            return new Page<>(items, items.size() < limit ? null : offset + items.size());
+        }
+    }
+
+    /**
+     * Retrieves a page of entities ordered by ID, starting after the given ID (keyset paging).
+     * Unlike {@link #getPage(int, int)}, the cost does not grow with the position of the page.
+     *
+     * @param lastId The ID of the last entity of the previous page, or 0 for the first page.
+     * @param limit  The maximum number of rows to return.
+     * @return The page of entities, with the ID of its last entity as the continuation token.
+     */
+    public Page<T> getPageAfter(int lastId, int limit) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            List<T> items = session.createQuery(
+                            "from " + getEntityClass().getName() + " e" + getFetchJoins("e") + " where e.id > :lastId order by e.id",
+                            getEntityClass())
+                    .setParameter("lastId", lastId)
+                    .setMaxResults(limit)
+                    .list();
+            if (items.size() < limit) {
+                return new Page<>(items, null);
+            }
+            return new Page<>(items, (Integer) session.getIdentifier(items.getLast()));
+        }
+    }
+
+    /**
+     * Counts the entities of type T that meet the filters of a query specification.
+     *
+     * @param spec The specification whose filters to apply; its sort order is ignored.
+     * @return The number of matching entities.
+     * @throws IllegalArgumentException If the specification names a column that is not displayed, or a value
+     *                                  that does not fit its column.
+     */
+    public long count(QuerySpec spec) {
+        Condition condition = toCondition(spec);
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(
+                    "select count(e) from " + getEntityClass().getName() + " e" + condition.where(), Long.class);
+            condition.bind(query);
+            return query.getSingleResult();
+        }
+    }
+
+    /**
+     * Retrieves a page of the entities that meet the filters of a query specification, in its sort order.
+     * The sort column and the filters are checked against the displayed columns, see {@link #getColumnNames()},
+     * and the filter values are bound as parameters, so the specification cannot change the structure of the query.
+     * Rows with equal values in the sort column are ordered by ID, so paging is stable.
+     *
+     * @param spec   The specification of the filters and sort order.
+     * @param offset The number of rows to skip.
+     * @param limit  The maximum number of rows to return.
+     * @return The page of entities, with the offset of the next page as its continuation token.
+     * @throws IllegalArgumentException If the specification names a column that is not displayed, or a value
+     *                                  that does not fit its column.
+     */
+    public Page<T> getPage(QuerySpec spec, int offset, int limit) {
+        Condition condition = toCondition(spec);
+        String direction = spec.sortDirection().getKeyword();
+        String order = spec.sortColumn() != null
+                ? " order by " + toPath(spec.sortColumn()) + " " + direction + ", e.id " + direction
+                : " order by e.id " + direction;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<T> query = session.createQuery(
+                    "from " + getEntityClass().getName() + " e" + getFetchJoins("e") + condition.where() + order,
+                    getEntityClass());
+            condition.bind(query);
+            List<T> items = query
+                    .setFirstResult(offset)
+                    .setMaxResults(limit)
+                    .list();
+            return new Page<>(items, items.size() < limit ? null : offset + items.size());
         }
     }
 
@@ -56,6 +272,127 @@ public abstract class DAO<T> {
         }
     }
 
+    /**
+     * Retrieves an entity by its ID, serving it from the cache region of the entity if it has one.
+     * <p>
+     * This is meant for resolving references, such as the entity a foreign key points to. The returned entity
+     * may be shared with other callers and must not be modified; use {@link #getById(int)} to load an entity
+     * for editing.
+     * </p>
+     * <p>
+     * An entity loaded on a miss is only cached if the ID was not evicted while it was loading, so a change
+     * committed during the load is never hidden by the row read before it.
+     * </p>
+     *
+     * @param id The ID of the entity to be retrieved.
+     * @return The entity with the specified ID, or null if not found.
+     */
+    public T getCachedById(int id) {
+        CacheRegion<T> region = getCacheRegion();
+        if (region == null) {
+            return getById(id);
+        }
+
+        long version = region.getVersion(id);
+        T entity = region.get(id);
+        if (entity == null) {
+            entity = getById(id);
+            if (entity != null) {
+                region.putIfCurrent(id, entity, version);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Returns the hit and miss counters of the cache region of the entity.
+     *
+     * @return The statistics of the cache region, or null if the entity is not cached.
+     */
+    public CacheStatistics getCacheStatistics() {
+        CacheRegion<T> region = getCacheRegion();
+        return region != null ? region.getStatistics() : null;
+    }
+
+    /**
+     * Retrieves the entities with the given IDs, ordered by ID.
+     * The associations of the entities are fetched in the same statement, see {@link #getFetchJoins(String)}.
+     *
+     * @param ids The IDs of the entities to be retrieved.
+     * @return The entities that exist, ordered by ID.
+     */
+    public List<T> getByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                            "from " + getEntityClass().getName() + " e" + getFetchJoins("e") + " where e.id in :ids order by e.id",
+                            getEntityClass())
+                    .setParameter("ids", ids)
+                    .list();
+        }
+    }
+
+    /**
+     * Searches the text fields of the entity with the search index of the entity.
+     * The index is filled from the database on the first search, which reads the whole table once.
+     *
+     * @param query The text to search for; every word of it must be the start of a word of a matching entity.
+     * @param limit The maximum number of entities to return.
+     * @return The matching entities, ordered by ID.
+     * @throws IllegalStateException If the entity has no search index, see {@link #isSearchable()}.
+     * @see SearchIndex
+     */
+    public List<T> search(String query, int limit) {
+        SearchIndex<T> index = getSearchIndex();
+        if (index == null) {
+            throw new IllegalStateException(getEntityClass().getSimpleName() + " has no search index.");
+        }
+
+        index.ensureLoaded(sink -> {
+            Page<T> page = getPageAfter(0, SEARCH_INDEX_PAGE_SIZE);
+            page.items().forEach(sink);
+            while (page.hasMore()) {
+                page = getPageAfter(page.continuation(), SEARCH_INDEX_PAGE_SIZE);
+                page.items().forEach(sink);
+            }
+        });
+        return getByIds(Arrays.stream(index.search(query, limit)).boxed().toList());
+    }
+
+    /**
+     * Discards the contents of the search index of the entity, so it is filled again on the next search.
+     * This is needed after the table has been changed without going through a DAO, such as by bulk SQL.
+     */
+    public void invalidateSearchIndex() {
+        SearchIndex<T> index = getSearchIndex();
+        if (index != null) {
+            index.invalidate();
+        }
+    }
+
+    /**
+     * Removes all entities from the cache region of the entity, so they are read from the database again.
+     * This is needed after the table has been changed without going through a DAO, such as by bulk SQL
+     * that may reuse IDs.
+     */
+    public void invalidateCache() {
+        CacheRegion<T> region = getCacheRegion();
+        if (region != null) {
+            region.clear();
+        }
+    }
+
+    /**
+     * Returns whether the entity has a search index, see {@link #search(String, int)}.
+     *
+     * @return true if the entity can be searched.
+     */
+    public boolean isSearchable() {
+        return getSearchIndex() != null;
+    }
+
     /**
      * Updates an existing entity in the database.
      *
@@ -66,8 +403,11 @@ public abstract class DAO<T> {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
+            onWrite(session, ChangeType.UPDATE, List.of(entity));
             session.update(entity);
+            int id = (Integer) session.getIdentifier(entity);
             transaction.commit();
+            afterCommit(ChangeType.UPDATE, id, entity);
         } catch (Exception e) {
             if (transaction != null) transaction.rollback();
             e.printStackTrace();
@@ -75,6 +415,70 @@ public abstract class DAO<T> {
         }
     }
 
+    /**
+     * Updates existing entities in the database in a single transaction, using the configured JDBC batch size.
+     *
+     * @param entities The entities to be updated.
+     * @throws RuntimeException If the transaction fails.
+     * @see HibernateUtil#getBatchSize()
+     */
+    public void updateAll(Collection<T> entities) {
+        updateAll(entities, HibernateUtil.getBatchSize());
+    }
+
+    /**
+     * Updates existing entities in the database in a single transaction.
+     * Statements are sent to the database in JDBC batches, and the session is flushed and cleared after every batch.
+     *
+     * @param entities  The entities to be updated.
+     * @param batchSize The number of entities written per batch.
+     * @throws RuntimeException If the transaction fails.
+     */
+    public void updateAll(Collection<T> entities, int batchSize) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(batchSize);
+            transaction = session.beginTransaction();
+            List<Integer> ids = new ArrayList<>(entities.size());
+            List<T> batch = new ArrayList<>(Math.min(batchSize, entities.size()));
+            for (T entity : entities) {
+                batch.add(entity);
+                if (batch.size() == batchSize) {
+                    updateBatch(session, batch, ids);
+                }
+            }
+            updateBatch(session, batch, ids);
+            transaction.commit();
+            afterCommit(ChangeType.UPDATE, ids, entities);
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            e.printStackTrace();
+            throw new RuntimeException("Failed to update entities", e);
+        }
+    }
+
+    /**
+     * Writes one batch of {@link #updateAll(Collection, int)}, then flushes and clears the session.
+     * The batch is reported to {@link #onWrite(Session, ChangeType, List)} before it is handed to the session.
+     *
+     * @param session The session of the write.
+     * @param batch   The entities of the batch, cleared once they are written.
+     * @param ids     The IDs of the updated entities, extended with those of the batch.
+     */
+    private void updateBatch(Session session, List<T> batch, List<Integer> ids) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        onWrite(session, ChangeType.UPDATE, batch);
+        for (T entity : batch) {
+            session.update(entity);
+            ids.add((Integer) session.getIdentifier(entity));
+        }
+        batch.clear();
+        session.flush();
+        session.clear();
+    }
+
     /**
      * Deletes an entity by its ID.
      *
@@ -87,8 +491,10 @@ public abstract class DAO<T> {
             transaction = session.beginTransaction();
             T entity = session.get(getEntityClass(), id);
             if (entity != null) {
+                onWrite(session, ChangeType.DELETE, List.of(entity));
                 session.delete(entity);
                 transaction.commit();
+                afterCommit(ChangeType.DELETE, id, null);
             } else {
                 throw new IllegalArgumentException("Entity with ID " + id + " does not exist.");
             }
@@ -99,6 +505,245 @@ public abstract class DAO<T> {
         }
     }
 
+    /**
+     * Returns the JOIN FETCH clauses that load the associations of the entity in the same statement as the entity.
+     * <p>
+     * The many-to-one associations of the entities are eager, so a query that does not fetch them makes Hibernate
+     * issue one more select for every distinct referenced entity, and again for the associations of those.
+     * Every query of this class returning entities appends these clauses. Entities with associations override this
+     * method; the associations of fetched entities must be fetched as well, so the whole graph is covered.
+     * </p>
+     *
+     * @param alias The alias of the entity in the query.
+     * @return The fetch clauses, each starting with a space, or an empty string if the entity has no associations.
+     */
+    protected String getFetchJoins(String alias) {
+        return "";
+    }
+
+    /**
+     * Builds a JOIN FETCH clause for a single association, for use in {@link #getFetchJoins(String)}.
+     * The fetched association is aliased as the entity alias and the association name joined by an underscore,
+     * so that its own associations can be fetched in turn.
+     *
+     * @param alias       The alias of the entity owning the association.
+     * @param association The name of the association.
+     * @return The fetch clause, starting with a space.
+     */
+    protected static String joinFetch(String alias, String association) {
+        return " join fetch " + alias + "." + association + " " + alias + "_" + association;
+    }
+
+    /**
+     * Translates the filters of a query specification into an HQL condition on the entity alias "e".
+     *
+     * @param spec The specification to translate.
+     * @return The condition with the values to bind.
+     * @throws IllegalArgumentException If a filter names a column that is not displayed, or a value that does not fit.
+     */
+    private Condition toCondition(QuerySpec spec) {
+        StringBuilder where = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+        for (QuerySpec.Filter filter : spec.filters()) {
+            String path = toPath(filter.column());
+            String parameter = ":p" + parameters.size();
+            where.append(where.isEmpty() ? " where " : " and ");
+            if (filter.operator() == QuerySpec.Operator.CONTAINS) {
+                if (getColumnType(filter.column()) != String.class) {
+                    throw new IllegalArgumentException("Column " + filter.column() + " does not contain text.");
+                }
+                where.append("lower(").append(path).append(") like ").append(parameter).append(" escape '\\'");
+                parameters.add("%" + escapeLike(filter.value().toLowerCase(Locale.ROOT)) + "%");
+            } else {
+                where.append(path).append(' ').append(filter.operator().getHql()).append(' ').append(parameter);
+                parameters.add(toValue(filter.column(), filter.value()));
+            }
+        }
+        return new Condition(where.toString(), parameters);
+    }
+
+    /**
+     * Returns the HQL path of a displayed column. References to other entities are compared by their ID.
+     *
+     * @param column The name of the column.
+     * @return The path of the column on the entity alias "e".
+     * @throws IllegalArgumentException If the column is not displayed.
+     */
+    private String toPath(String column) {
+        return getColumnType(column).isAnnotationPresent(Entity.class) ? "e." + column + ".id" : "e." + column;
+    }
+
+    /**
+     * Converts an entered value to the type compared in the HQL path of a column.
+     *
+     * @param column The name of the column.
+     * @param value  The entered value.
+     * @return The value to bind.
+     * @throws IllegalArgumentException If the value does not fit the column.
+     */
+    private Object toValue(String column, String value) {
+        Class<?> type = getColumnType(column);
+        try {
+            if (type == int.class || type == Integer.class || type.isAnnotationPresent(Entity.class)) {
+                return Integer.parseInt(value);
+            } else if (type == Date.class) {
+                return java.sql.Date.valueOf(LocalDate.parse(value));
+            }
+            return value;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid value for column " + column + ": " + value, e);
+        }
+    }
+
+    /**
+     * Returns the type of a displayed column.
+     *
+     * @param column The name of the column.
+     * @return The type of the field behind the column.
+     * @throws IllegalArgumentException If the column is not displayed.
+     */
+    private Class<?> getColumnType(String column) {
+        if (!getColumnNames().contains(column)) {
+            throw new IllegalArgumentException("Unknown column: " + column);
+        }
+        try {
+            return getEntityClass().getDeclaredField(column).getType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("Unknown column: " + column, e);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * An HQL condition with the values of its parameters, which are named p0, p1 and so on.
+     *
+     * @param where      The WHERE clause, starting with a space, or an empty string if there are no filters.
+     * @param parameters The values of the parameters, in order.
+     */
+    private record Condition(String where, List<Object> parameters) {
+
+        void bind(Query<?> query) {
+            for (int i = 0; i < parameters.size(); i++) {
+                query.setParameter("p" + i, parameters.get(i));
+            }
+        }
+    }
+
+    /**
+     * Updates the data derived from entities of type T, such as the counters of {@link BookAvailabilityDAO},
+     * in the transaction of a write, so it is committed or rolled back together with the write.
+     * Single writes report one entity; bulk writes report each JDBC batch once, before it is flushed.
+     * Inserts are reported once the entities have been persisted, so their IDs are known. Updates and deletions are
+     * reported before they are handed to the session, so the stored state of the entities can still be read;
+     * queries doing so must not flush the session, see {@link #storedStates(Session, String, Collection)}.
+     * The same entity may occur more than once in a batch. Does nothing by default.
+     *
+     * @param session  The session of the write.
+     * @param type     The kind of change.
+     * @param entities The inserted entities, the new states of the updated entities, or the deleted entities.
+     */
+    protected void onWrite(Session session, ChangeType type, List<T> entities) {
+    }
+
+    /**
+     * Reads values of the stored state of entities of type T within the transaction of a write, in a single query
+     * and without flushing the changes pending in the session first.
+     *
+     * @param session The session of the write.
+     * @param select  The selected values of the entity alias "e", such as {@code "e.book.id, e.status"}.
+     * @param ids     The IDs of the entities.
+     * @return The selected values by entity ID. Entities that are not stored have no entry.
+     */
+    protected Map<Integer, Object[]> storedStates(Session session, String select, Collection<Integer> ids) {
+        Map<Integer, Object[]> states = new HashMap<>();
+        session.createQuery(
+                        "select e.id, " + select + " from " + getEntityClass().getName() + " e where e.id in :ids",
+                        Object[].class)
+                .setParameterList("ids", ids)
+                .setHibernateFlushMode(FlushMode.MANUAL)
+                .list()
+                .forEach(row -> states.put((Integer) row[0], Arrays.copyOfRange(row, 1, row.length)));
+        return states;
+    }
+
+    /**
+     * Returns the cache region used by {@link #getCachedById(int)}.
+     * Subclasses of frequently read, rarely written entities can return a shared region to enable caching.
+     *
+     * @return The cache region of the entity, or null if the entity is not cached.
+     */
+    protected CacheRegion<T> getCacheRegion() {
+        return null;
+    }
+
+    /**
+     * Returns the search index used by {@link #search(String, int)}.
+     * Subclasses of entities with text fields worth searching can return a shared index to enable searching.
+     *
+     * @return The search index of the entity, or null if the entity cannot be searched.
+     */
+    protected SearchIndex<T> getSearchIndex() {
+        return null;
+    }
+
+    /**
+     * Removes an entity from the cache region after it has been changed in the database, applies the change
+     * to the search index and announces the change on the {@link EntityChangeBus}.
+     * It is also called by {@link CirculationService}, whose transactions change entities of several types.
+     *
+     * @param type   The kind of change.
+     * @param id     The ID of the changed entity.
+     * @param entity The changed entity, or null for a deletion.
+     */
+    void afterCommit(ChangeType type, int id, T entity) {
+        invalidate(id, entity);
+        EntityChangeBus.publish(new EntityChangeEvent(getEntityClass(), type, id));
+    }
+
+    /**
+     * Applies {@link #afterCommit(ChangeType, int, Object)} to every entity written by a bulk operation.
+     * The change is announced as a single event carrying all IDs, so listeners update their views once per batch.
+     * Nothing is announced if no entity was written.
+     *
+     * @param type     The kind of change.
+     * @param ids      The IDs of the changed entities, in the order of the entities.
+     * @param entities The changed entities.
+     */
+    private void afterCommit(ChangeType type, List<Integer> ids, Collection<T> entities) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        int index = 0;
+        for (T entity : entities) {
+            invalidate(ids.get(index++), entity);
+        }
+        EntityChangeBus.publish(new EntityChangeEvent(getEntityClass(), type, ids));
+    }
+
+    /**
+     * Removes a changed entity from the cache region and applies the change to the search index.
+     *
+     * @param id     The ID of the changed entity.
+     * @param entity The changed entity, or null for a deletion.
+     */
+    private void invalidate(int id, T entity) {
+        CacheRegion<T> region = getCacheRegion();
+        if (region != null) {
+            region.evict(id);
+        }
+        SearchIndex<T> index = getSearchIndex();
+        if (index != null) {
+            if (entity != null) {
+                index.put(entity);
+            } else {
+                index.remove(id);
+            }
+        }
+    }
+
     /**
      * Abstract method to get the column names for the entity.
      * Subclasses should provide the column names that are relevant to the entity.
@@ -28,6 +28,17 @@ public class LibrarianDAO extends DAO<Librarian> {
                 .toList();
     }
 
+    /**
+     * Fetches its member together with each Librarian.
+     *
+     * @param alias The alias of the Librarian in the query.
+     * @return The fetch clauses for the associations of the Librarian.
+     */
+    @Override
+    protected String getFetchJoins(String alias) {
+        return joinFetch(alias, "member");
+    }
+
     /**
      * Returns the class type of the Librarian entity.
      *
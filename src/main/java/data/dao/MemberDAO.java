@@ -1,7 +1,9 @@
 package data.dao;
 
 import data.annotations.Display;
+import data.cache.CacheRegion;
 import data.entities.Member;
+import data.search.SearchIndex;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
@@ -12,6 +14,13 @@ import java.util.List;
  * Extends the generic {@link DAO} class to perform CRUD operations on Member entities.
  */
 public class MemberDAO extends DAO<Member> {
+
+    // Shared by all MemberDAO instances, since the DAO factory creates a new DAO per request
+    private static final CacheRegion<Member> CACHE_REGION = CacheRegion.configured("member");
+
+    // Shared by all MemberDAO instances, so every write keeps the same index up to date
+    private static final SearchIndex<Member> SEARCH_INDEX = new SearchIndex<>(Member::getId, Member::getName, Member::getEmail);
+
     /**
      * Retrieves the column names for the Member entity.
      * This method uses reflection to find fields that are annotated with {@link Display}.
@@ -27,6 +36,26 @@ public class MemberDAO extends DAO<Member> {
                 .toList();
     }
 
+    /**
+     * Returns the cache region for Member entities, which are read far more often than they are written.
+     *
+     * @return The shared cache region for Member entities.
+     */
+    @Override
+    protected CacheRegion<Member> getCacheRegion() {
+        return CACHE_REGION;
+    }
+
+    /**
+     * Returns the search index over the name and email of Member entities.
+     *
+     * @return The shared search index for Member entities.
+     */
+    @Override
+    protected SearchIndex<Member> getSearchIndex() {
+        return SEARCH_INDEX;
+    }
+
     /**
      * Returns the class type of the Member entity.
      *
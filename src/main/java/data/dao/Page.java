@@ -0,0 +1,26 @@
+package data.dao;
+
+import java.util.List;
+
+/**
+ * A single page of entities returned by the paged {@link DAO} queries.
+ *
+ * <p>The continuation token tells the caller where the next page starts. For offset paging it is the
+ * offset of the next page, for keyset paging it is the ID of the last entity on this page.
+ * It is null when there are no more rows to read.</p>
+ *
+ * @param items        the entities on this page
+ * @param continuation the token for the next page, or null if this is the last page
+ * @param <T>          the type of the entities
+ */
+public record Page<T>(List<T> items, Integer continuation) {
+
+    /**
+     * Returns whether another page can be requested with the continuation token.
+     *
+     * @return true if there may be more rows after this page
+     */
+    public boolean hasMore() {
+        return continuation != null;
+    }
+}
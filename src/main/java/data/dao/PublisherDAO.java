@@ -1,6 +1,7 @@
 package data.dao;
 
 import data.annotations.Display;
+import data.cache.CacheRegion;
 import data.entities.Publisher;
 
 import java.lang.reflect.Field;
@@ -13,6 +14,9 @@ import java.util.List;
  */
 public class PublisherDAO extends DAO<Publisher> {
 
+    // Shared by all PublisherDAO instances, since the DAO factory creates a new DAO per request
+    private static final CacheRegion<Publisher> CACHE_REGION = CacheRegion.configured("publisher");
+
     /**
      * Retrieves the column names for the Publisher entity.
      * This method uses reflection to find fields that are annotated with {@link Display}.
@@ -28,6 +32,16 @@ public class PublisherDAO extends DAO<Publisher> {
                 .toList();
     }
 
+    /**
+     * Returns the cache region for Publisher entities, which are read far more often than they are written.
+     *
+     * @return The shared cache region for Publisher entities.
+     */
+    @Override
+    protected CacheRegion<Publisher> getCacheRegion() {
+        return CACHE_REGION;
+    }
+
     /**
      * Returns the class type of the Publisher entity.
      *
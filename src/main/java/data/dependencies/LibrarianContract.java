@@ -1,8 +1,13 @@
 package data.dependencies;
 
+import data.constants.ChangeType;
+import data.constants.ExportFormat;
+import data.constants.LoadState;
 import data.constants.Tables;
 import java.awt.event.ActionListener;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Contract defining the functionality for managing librarian actions within the application.
@@ -38,6 +43,13 @@ public interface LibrarianContract {
          */
         void addUpdateButtonListener(ActionListener listener);
 
+        /**
+         * Adds an action listener to the export button. Triggered when the user clicks the export button.
+         *
+         * @param listener The action listener to be added.
+         */
+        void addExportButtonListener(ActionListener listener);
+
         /**
          * Adds a listener to handle tab changes in the UI.
          */
@@ -91,18 +103,53 @@ public interface LibrarianContract {
          *
          * @param row    The row index.
          * @param column The column index.
-         * @return The value in the specified cell.
+         * @return The value in the specified cell, or an empty string if the row is still loading.
          */
         String getValueAt(int row, int column);
 
         /**
-         * Updates the table model with new data.
+         * Updates the table model with a new source of data.
+         * Rows are read from the source on demand as they become visible.
          *
          * @param tableType The table type (Books, Borrowings, etc.).
          * @param columns   The column headers for the table.
-         * @param data      The data to be displayed in the table.
+         * @param source    The source of the rows to be displayed in the table.
+         */
+        void updateTableModel(Tables tableType, String[] columns, RowSource source);
+
+        /**
+         * Shows the loading state of a table, such as while its data is read in the background.
+         *
+         * @param tableType The table type (Books, Borrowings, etc.).
+         * @param state     The loading state of the table.
+         */
+        void setTableState(Tables tableType, LoadState state);
+
+        /**
+         * Shows a filter box for a table. The listener receives the text of the box whenever the user stops typing.
+         *
+         * @param tableType The table type (Books, Members, etc.).
+         * @param listener  The listener receiving the text of the filter box, empty when it is cleared.
+         */
+        void addSearchListener(Tables tableType, Consumer<String> listener);
+
+        /**
+         * Listens for clicks on the column headers of a table, which ask for the table to be sorted by that column.
+         *
+         * @param tableType The table type (Books, Borrowings, etc.).
+         * @param listener  The listener receiving the name of the clicked column.
+         */
+        void addSortListener(Tables tableType, Consumer<String> listener);
+
+        /**
+         * Applies the change of a single entity to the rows shown in a table, without reloading the table.
+         *
+         * @param tableType The table type (Books, Borrowings, etc.).
+         * @param type      The kind of change.
+         * @param id        The ID of the changed entity.
+         * @param row       The new values of the row as a single-row table, or null for a deletion.
          */
-        void updateTableModel(Tables tableType, String[] columns, String[][] data);
+        void applyRowChange(Tables tableType, ChangeType type, int id, TableData row);
 
         /**
          * Creates an input dialog where the user can input a value.
@@ -113,6 +160,23 @@ public interface LibrarianContract {
          */
         String createInputDialog(String title, String initialValue);
 
+        /**
+         * Creates a dialog where the user can choose a file to save to.
+         *
+         * @param title    The title of the dialog.
+         * @param fileName The file name suggested to the user.
+         * @return The chosen file, or null if the user cancelled the dialog.
+         */
+        Path createSaveDialog(String title, String fileName);
+
+        /**
+         * Creates a dialog to display an informational message to the user.
+         *
+         * @param title   The title of the dialog.
+         * @param message The message to be displayed.
+         */
+        void createMessageDialog(String title, String message);
+
         /**
          * Creates an error dialog to display an error message to the user.
          *
@@ -138,6 +202,11 @@ public interface LibrarianContract {
          * Refreshes and fills the tables with the data required for display.
          */
         void refreshAll();
+
+        /**
+         * Stops the presenter from receiving entity changes once its view is no longer shown.
+         */
+        void dispose();
     }
 
     /**
@@ -148,13 +217,87 @@ public interface LibrarianContract {
     interface Model {
 
         /**
-         * Retrieves data for the specified entity class and returns it in a two-dimensional array format.
+         * Retrieves data for the specified entity class.
          *
          * @param <T> The type of the entity class.
          * @param entityClass The class of the entity.
-         * @return The data for the specified entity class in a 2D string array format.
+         * @return The rows of the specified entity class, together with their columns.
          */
-        <T> String[][] getData(Class<T> entityClass);
+        <T> TableData getData(Class<T> entityClass);
+
+        /**
+         * Retrieves a window of rows for the specified entity class, ordered by ID.
+         *
+         * @param <T> The type of the entity class.
+         * @param entityClass The class of the entity.
+         * @param offset The index of the first row of the window.
+         * @param limit The maximum number of rows in the window.
+         * @return The rows of the window, together with their columns.
+         */
+        <T> TableData getData(Class<T> entityClass, int offset, int limit);
+
+        /**
+         * Retrieves the total number of rows stored for the specified entity class.
+         *
+         * @param entityClass The class of the entity.
+         * @return The number of rows.
+         */
+        int getRowCount(Class<?> entityClass);
+
+        /**
+         * Retrieves a window of the rows of the specified entity class that meet a query specification,
+         * in the order of the specification. The filtering and sorting are done by the database.
+         *
+         * @param <T> The type of the entity class.
+         * @param entityClass The class of the entity.
+         * @param spec The filters and sort order of the rows.
+         * @param offset The index of the first row of the window.
+         * @param limit The maximum number of rows in the window.
+         * @return The rows of the window, together with their columns.
+         * @throws IllegalArgumentException If the specification names a column that is not displayed,
+         *                                  or a value that does not fit its column.
+         */
+        <T> TableData getData(Class<T> entityClass, QuerySpec spec, int offset, int limit);
+
+        /**
+         * Retrieves the number of rows of the specified entity class that meet the filters of a query specification.
+         *
+         * @param entityClass The class of the entity.
+         * @param spec The filters of the rows.
+         * @return The number of matching rows.
+         * @throws IllegalArgumentException If the specification names a column that is not displayed,
+         *                                  or a value that does not fit its column.
+         */
+        int getRowCount(Class<?> entityClass, QuerySpec spec);
+
+        /**
+         * Retrieves a single row for the specified entity class.
+         *
+         * @param <T> The type of the entity class.
+         * @param entityClass The class of the entity.
+         * @param id The ID of the entity.
+         * @return The values of the entity as a single-row table, or null if the entity does not exist.
+         */
+        <T> TableData getRow(Class<T> entityClass, int id);
+
+        /**
+         * Checks whether the entities of the specified class can be searched with {@link #search(Class, String, int)}.
+         *
+         * @param entityClass The class of the entity.
+         * @return True if the entity class has a search index.
+         */
+        boolean isSearchable(Class<?> entityClass);
+
+        /**
+         * Searches the text fields of the specified entity class.
+         *
+         * @param <T> The type of the entity class.
+         * @param entityClass The class of the entity.
+         * @param query The text to search for; every word of it must be the start of a word of a matching entity.
+         * @param limit The maximum number of rows to return.
+         * @return The matching rows ordered by ID, together with their columns.
+         */
+        <T> TableData search(Class<T> entityClass, String query, int limit);
 
         /**
          * Inserts data for the specified entity class.
@@ -174,6 +317,18 @@ public interface LibrarianContract {
          */
         int delete(int id, Class<?> entityClass);
 
+        /**
+         * Writes all entities of the specified class to a file. The entities are streamed from the database
+         * to the file, so the size of the table does not affect memory use.
+         *
+         * @param <T> The type of the entity class.
+         * @param entityClass The class of the entities to export.
+         * @param format The format of the file.
+         * @param file The file to write; its contents are replaced.
+         * @return The number of exported entities.
+         */
+        <T> long export(Class<T> entityClass, ExportFormat format, Path file);
+
         /**
          * Updates the entity with the specified ID using the provided field data.
          *
@@ -0,0 +1,192 @@
+package data.dependencies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Describes which rows of a table to read and in which order: a list of filters that must all hold,
+ * and an optional column to sort by.
+ * <p>
+ * Columns are named by their field names, as shown in the table headers. The data layer checks them against
+ * the displayed columns of the entity and binds the values as query parameters, so a specification never adds
+ * text of its own to a query.
+ * </p>
+ *
+ * @param filters       the conditions every row must meet
+ * @param sortColumn    the column to sort by, or null to sort by ID
+ * @param sortDirection the direction of the sort
+ */
+public record QuerySpec(List<Filter> filters, String sortColumn, SortDirection sortDirection) {
+
+    /**
+     * The specification of all rows ordered by ascending ID, which is how tables are shown by default.
+     */
+    public static final QuerySpec NONE = new QuerySpec(List.of(), null, SortDirection.ASCENDING);
+
+    // A column name, an operator and the rest of the text as the value
+    private static final Pattern FILTER_PATTERN = Pattern.compile("^\\s*(\\w+)\\s*(>=|<=|!=|=|<|>|~)\\s*(.*?)\\s*$");
+
+    // The word "and" where it starts another filter, and not inside a quoted value
+    private static final Pattern FILTER_SEPARATOR = Pattern.compile(
+            "(?i)\\s+and\\s+(?=\\w+\\s*(?:>=|<=|!=|=|<|>|~))(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
+
+    public QuerySpec {
+        filters = List.copyOf(filters);
+    }
+
+    /**
+     * The direction in which rows are sorted.
+     */
+    public enum SortDirection {
+        ASCENDING("asc"),
+        DESCENDING("desc");
+
+        private final String keyword;
+
+        SortDirection(String keyword) {
+            this.keyword = keyword;
+        }
+
+        /**
+         * Returns the HQL keyword of the direction.
+         *
+         * @return "asc" or "desc"
+         */
+        public String getKeyword() {
+            return keyword;
+        }
+
+        /**
+         * Returns the opposite direction.
+         *
+         * @return the reversed direction
+         */
+        public SortDirection reversed() {
+            return this == ASCENDING ? DESCENDING : ASCENDING;
+        }
+    }
+
+    /**
+     * The comparison of a filter.
+     */
+    public enum Operator {
+        EQUALS("=", "="),
+        NOT_EQUALS("!=", "<>"),
+        LESS("<", "<"),
+        LESS_OR_EQUAL("<=", "<="),
+        GREATER(">", ">"),
+        GREATER_OR_EQUAL(">=", ">="),
+        CONTAINS("~", "like");
+
+        private final String symbol;
+        private final String hql;
+
+        Operator(String symbol, String hql) {
+            this.symbol = symbol;
+            this.hql = hql;
+        }
+
+        /**
+         * Returns the symbol of the operator in the filter syntax, see {@link Filter#parse(String)}.
+         *
+         * @return the symbol of the operator
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * Returns the HQL operator that implements this comparison.
+         *
+         * @return the HQL operator
+         */
+        public String getHql() {
+            return hql;
+        }
+
+        private static Operator ofSymbol(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operator: " + symbol);
+        }
+    }
+
+    /**
+     * A condition on a single column.
+     *
+     * @param column   the name of the column
+     * @param operator the comparison
+     * @param value    the value to compare with, as entered; it is converted to the type of the column
+     */
+    public record Filter(String column, Operator operator, String value) {
+
+        /**
+         * Parses a filter written as {@code column operator value}, such as {@code publicationYear >= 1950}
+         * or {@code title ~ gatsby}. The operators are {@code = != < <= > >=} and {@code ~} for "contains".
+         * A value may be put in double quotes, which are removed.
+         *
+         * @param text the text of the filter
+         * @return the filter, or null if the text is not written in the filter syntax
+         */
+        public static Filter parse(String text) {
+            Matcher matcher = FILTER_PATTERN.matcher(text);
+            if (!matcher.matches()) {
+                return null;
+            }
+            String value = matcher.group(3);
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            return new Filter(matcher.group(1), Operator.ofSymbol(matcher.group(2)), value);
+        }
+    }
+
+    /**
+     * Returns this specification with the given filters instead of the current ones.
+     *
+     * @param filters the new filters
+     * @return the changed specification
+     */
+    public QuerySpec withFilters(List<Filter> filters) {
+        return new QuerySpec(filters, sortColumn, sortDirection);
+    }
+
+    /**
+     * Returns this specification sorted by the given column. Sorting again by the current sort column
+     * reverses the direction; sorting by another column sorts it ascending.
+     *
+     * @param column the column to sort by
+     * @return the changed specification
+     */
+    public QuerySpec toggleSort(String column) {
+        if (column.equals(sortColumn)) {
+            return new QuerySpec(filters, column, sortDirection.reversed());
+        }
+        return new QuerySpec(filters, column, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Parses a list of filters separated by the word "and", such as {@code status = Available and copyNumber > 1}.
+     * The text is only split where "and" is followed by another filter, so values such as
+     * {@code title ~ pride and prejudice} are kept whole; a value that would still be split can be quoted.
+     *
+     * @param text the text of the filters
+     * @return the filters, or null if any part is not written in the filter syntax
+     */
+    public static List<Filter> parseFilters(String text) {
+        List<Filter> filters = new ArrayList<>();
+        for (String part : FILTER_SEPARATOR.split(text)) {
+            Filter filter = Filter.parse(part);
+            if (filter == null) {
+                return null;
+            }
+            filters.add(filter);
+        }
+        return filters;
+    }
+}
@@ -0,0 +1,51 @@
+package data.dependencies;
+
+/**
+ * Source of table rows that the views read on demand instead of receiving the whole table at once.
+ * Rows are addressed by their position and returned in blocks, so only the visible part of a table
+ * has to be loaded.
+ */
+public interface RowSource {
+
+    /**
+     * Number of rows the views request from a source at once.
+     */
+    int BLOCK_SIZE = 100;
+
+    /**
+     * Retrieves the total number of rows available from this source.
+     *
+     * @return The number of rows.
+     */
+    int getRowCount();
+
+    /**
+     * Retrieves a block of consecutive rows.
+     *
+     * @param offset The index of the first row of the block.
+     * @param limit  The maximum number of rows in the block.
+     * @return The rows of the block.
+     */
+    TableData getRows(int offset, int limit);
+
+    /**
+     * Creates a source over rows that are already held in memory.
+     *
+     * @param rows The rows to serve.
+     * @return A source serving the given rows.
+     */
+    static RowSource of(TableData rows) {
+        return new RowSource() {
+            @Override
+            public int getRowCount() {
+                return rows.getRowCount();
+            }
+
+            @Override
+            public TableData getRows(int offset, int limit) {
+                int from = Math.min(offset, rows.getRowCount());
+                return rows.slice(from, Math.min(from + limit, rows.getRowCount()));
+            }
+        };
+    }
+}
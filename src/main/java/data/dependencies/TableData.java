@@ -0,0 +1,363 @@
+package data.dependencies;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rows of a table held column by column, as read by the models and shown by the views.
+ * <p>
+ * Integer columns, such as IDs and the IDs of referenced entities, are stored as primitive {@code int} arrays,
+ * and text columns as string arrays in which equal values share a single instance. Values are only turned into
+ * text when a view displays them, so reading a table does not create a string for every cell.
+ * The column names travel with the rows instead of taking up the first row.
+ * </p>
+ * <p>
+ * Instances are immutable; the operations that change rows return a new instance.
+ * </p>
+ */
+public final class TableData {
+
+    /**
+     * The kind of values stored in a column.
+     */
+    public enum ColumnType {
+        INTEGER,
+        TEXT
+    }
+
+    /**
+     * The description of a column.
+     *
+     * @param name the name of the column
+     * @param type the kind of values stored in the column
+     */
+    public record Column(String name, ColumnType type) {
+    }
+
+    private final Column[] columns;
+    private final int[][] ints;        // Values of the integer columns, null for text columns
+    private final String[][] texts;    // Values of the text columns, null for integer columns
+    private final BitSet[] nulls;      // Rows holding no value, per integer column; null if there are none
+    private final int rowCount;
+
+    private TableData(Column[] columns, int[][] ints, String[][] texts, BitSet[] nulls, int rowCount) {
+        this.columns = columns;
+        this.ints = ints;
+        this.texts = texts;
+        this.nulls = nulls;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Creates a builder for rows with the given columns.
+     *
+     * @param columns  the columns of the rows
+     * @param capacity the expected number of rows; the builder grows beyond it if needed
+     * @return the builder
+     */
+    public static Builder builder(Column[] columns, int capacity) {
+        return new Builder(columns, capacity);
+    }
+
+    /**
+     * Creates an empty table with the given columns.
+     *
+     * @param columns the columns of the table
+     * @return the table without rows
+     */
+    public static TableData empty(Column[] columns) {
+        return builder(columns, 0).build();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public Column getColumn(int column) {
+        return columns[column];
+    }
+
+    /**
+     * Returns the names of the columns, in order.
+     *
+     * @return a new array with the column names
+     */
+    public String[] getColumnNames() {
+        return Arrays.stream(columns).map(Column::name).toArray(String[]::new);
+    }
+
+    /**
+     * Returns the index of the column with the given name.
+     *
+     * @param name the name of the column
+     * @return the index of the column, or -1 if there is no such column
+     */
+    public int indexOf(String name) {
+        for (int column = 0; column < columns.length; column++) {
+            if (columns[column].name().equals(name)) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a cell holds no value.
+     *
+     * @param row    the row of the cell
+     * @param column the column of the cell
+     * @return true if the cell is empty
+     */
+    public boolean isNull(int row, int column) {
+        if (ints[column] != null) {
+            return nulls[column] != null && nulls[column].get(row);
+        }
+        return texts[column][row] == null;
+    }
+
+    /**
+     * Returns the value of a cell of an integer column, without boxing it.
+     *
+     * @param row    the row of the cell
+     * @param column the column of the cell
+     * @return the value of the cell, or 0 if it is empty
+     * @throws IllegalStateException if the column is not an integer column
+     */
+    public int getInt(int row, int column) {
+        if (ints[column] == null) {
+            throw new IllegalStateException("Column " + columns[column].name() + " is not an integer column");
+        }
+        return ints[column][row];
+    }
+
+    /**
+     * Returns the value of a cell.
+     *
+     * @param row    the row of the cell
+     * @param column the column of the cell
+     * @return an Integer or a String, or null if the cell is empty
+     */
+    public Object getValue(int row, int column) {
+        if (isNull(row, column)) {
+            return null;
+        }
+        return ints[column] != null ? (Object) ints[column][row] : texts[column][row];
+    }
+
+    /**
+     * Returns the value of a cell as text. Empty cells are rendered as the string "null".
+     *
+     * @param row    the row of the cell
+     * @param column the column of the cell
+     * @return the text of the cell
+     */
+    public String getText(int row, int column) {
+        Object value = getValue(row, column);
+        return value != null ? value.toString() : "null";
+    }
+
+    /**
+     * Returns the rows in the given range.
+     *
+     * @param from the first row, inclusive
+     * @param to   the last row, exclusive
+     * @return the rows of the range
+     */
+    public TableData slice(int from, int to) {
+        Builder builder = builder(columns, Math.max(0, to - from));
+        for (int row = from; row < to; row++) {
+            builder.copyRow(this, row);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns these rows followed by the rows of another table with the same columns.
+     *
+     * @param other the rows to append
+     * @return the combined rows
+     */
+    public TableData append(TableData other) {
+        Builder builder = builder(columns, rowCount + other.rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            builder.copyRow(this, row);
+        }
+        for (int row = 0; row < other.rowCount; row++) {
+            builder.copyRow(other, row);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns these rows with one of them replaced by the first row of another table with the same columns.
+     *
+     * @param row         the row to replace
+     * @param replacement the table holding the new values in its first row
+     * @return the changed rows
+     */
+    public TableData replace(int row, TableData replacement) {
+        Builder builder = builder(columns, rowCount);
+        for (int index = 0; index < rowCount; index++) {
+            if (index == row) {
+                builder.copyRow(replacement, 0);
+            } else {
+                builder.copyRow(this, index);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns these rows without the given row.
+     *
+     * @param row the row to remove
+     * @return the remaining rows
+     */
+    public TableData remove(int row) {
+        Builder builder = builder(columns, rowCount - 1);
+        for (int index = 0; index < rowCount; index++) {
+            if (index != row) {
+                builder.copyRow(this, index);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Collects rows one by one. A row is started with {@link #nextRow()} and its cells are then set by column.
+     * Text cells that are not set stay empty, while integer cells hold 0 unless they are emptied with {@link #setNull(int)}.
+     */
+    public static final class Builder {
+        private final Column[] columns;
+        private final int[][] ints;
+        private final String[][] texts;
+        private final BitSet[] nulls;
+        private final Map<String, String>[] interned;  // Canonical instance of every text value, per text column
+        private int rowCount;
+
+        @SuppressWarnings("unchecked")
+        private Builder(Column[] columns, int capacity) {
+            this.columns = columns;
+            this.ints = new int[columns.length][];
+            this.texts = new String[columns.length][];
+            this.nulls = new BitSet[columns.length];
+            this.interned = new Map[columns.length];
+            for (int column = 0; column < columns.length; column++) {
+                if (columns[column].type() == ColumnType.INTEGER) {
+                    ints[column] = new int[capacity];
+                } else {
+                    texts[column] = new String[capacity];
+                    interned[column] = new HashMap<>();
+                }
+            }
+        }
+
+        /**
+         * Starts a new row.
+         *
+         * @return this builder
+         */
+        public Builder nextRow() {
+            int capacity = columns.length > 0 ? length(0) : rowCount;
+            if (rowCount == capacity) {
+                int grown = Math.max(16, capacity * 2);
+                for (int column = 0; column < columns.length; column++) {
+                    if (ints[column] != null) {
+                        ints[column] = Arrays.copyOf(ints[column], grown);
+                    } else {
+                        texts[column] = Arrays.copyOf(texts[column], grown);
+                    }
+                }
+            }
+            rowCount++;
+            return this;
+        }
+
+        /**
+         * Sets a cell of an integer column in the current row.
+         *
+         * @param column the column of the cell
+         * @param value  the value of the cell
+         * @return this builder
+         */
+        public Builder setInt(int column, int value) {
+            ints[column][rowCount - 1] = value;
+            return this;
+        }
+
+        /**
+         * Sets a cell of a text column in the current row.
+         * The value is replaced by an equal instance seen before in the same column, if there is one.
+         *
+         * @param column the column of the cell
+         * @param value  the value of the cell, or null to leave it empty
+         * @return this builder
+         */
+        public Builder setText(int column, String value) {
+            texts[column][rowCount - 1] = value != null ? interned[column].computeIfAbsent(value, v -> v) : null;
+            return this;
+        }
+
+        /**
+         * Empties a cell of the current row.
+         *
+         * @param column the column of the cell
+         * @return this builder
+         */
+        public Builder setNull(int column) {
+            int row = rowCount - 1;
+            if (ints[column] != null) {
+                if (nulls[column] == null) {
+                    nulls[column] = new BitSet();
+                }
+                nulls[column].set(row);
+            } else {
+                texts[column][row] = null;
+            }
+            return this;
+        }
+
+        /**
+         * Builds the table from the collected rows.
+         *
+         * @return the table
+         */
+        public TableData build() {
+            int[][] builtInts = new int[columns.length][];
+            String[][] builtTexts = new String[columns.length][];
+            BitSet[] builtNulls = new BitSet[columns.length];
+            for (int column = 0; column < columns.length; column++) {
+                if (ints[column] != null) {
+                    builtInts[column] = length(column) == rowCount ? ints[column] : Arrays.copyOf(ints[column], rowCount);
+                    builtNulls[column] = nulls[column] != null && !nulls[column].isEmpty() ? nulls[column] : null;
+                } else {
+                    builtTexts[column] = length(column) == rowCount ? texts[column] : Arrays.copyOf(texts[column], rowCount);
+                }
+            }
+            return new TableData(columns, builtInts, builtTexts, builtNulls, rowCount);
+        }
+
+        private void copyRow(TableData source, int row) {
+            nextRow();
+            for (int column = 0; column < columns.length; column++) {
+                if (source.isNull(row, column)) {
+                    setNull(column);
+                } else if (ints[column] != null) {
+                    setInt(column, source.ints[column][row]);
+                } else {
+                    setText(column, source.texts[column][row]);
+                }
+            }
+        }
+
+        private int length(int column) {
+            return ints[column] != null ? ints[column].length : texts[column].length;
+        }
+    }
+}
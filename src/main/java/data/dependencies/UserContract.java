@@ -27,25 +27,25 @@ public interface UserContract {
          * Fills the table with all available titles and their details.
          *
          * @param columns The column headers for the table.
-         * @param data The data to fill in the table, where each row represents a title.
+         * @param source The source of the rows to fill in the table, where each row represents a title.
          */
-        void fillAllTitles(String[] columns, String[][] data);
+        void fillAllTitles(String[] columns, RowSource source);
 
         /**
          * Fills the table with available titles and their details.
          *
          * @param columns The column headers for the table.
-         * @param data The data to fill in the table, where each row represents an available title.
+         * @param source The source of the rows to fill in the table, where each row represents an available title.
          */
-        void fillAvailableTitles(String[] columns, String[][] data);
+        void fillAvailableTitles(String[] columns, RowSource source);
 
         /**
          * Fills the table with the user's borrowing history.
          *
          * @param columns The column headers for the table.
-         * @param data The data to fill in the table, where each row represents a borrowing record.
+         * @param source The source of the rows to fill in the table, where each row represents a borrowing record.
          */
-        void fillBorrowingHistory(String[] columns, String[][] data);
+        void fillBorrowingHistory(String[] columns, RowSource source);
     }
 
     /**
@@ -79,24 +79,51 @@ public interface UserContract {
         void setUserId(int userId);
 
         /**
-         * Retrieves all available titles data.
+         * Retrieves a window of the data for all titles, ordered by ID.
          *
-         * @return A 2D array containing the data for all available titles.
+         * @param offset The index of the first row of the window.
+         * @param limit The maximum number of rows in the window.
+         * @return The rows of the window, together with their columns.
          */
-        String[][] getAllTitlesData();
+        TableData getAllTitlesData(int offset, int limit);
 
         /**
-         * Retrieves the available titles data.
+         * Retrieves the total number of titles.
          *
-         * @return A 2D array containing the data for available titles.
+         * @return The number of titles.
          */
-        String[][] getAvailableTitlesData();
+        int getAllTitlesCount();
 
         /**
-         * Retrieves the user's borrowing history data.
+         * Retrieves a window of the data for available titles, ordered by ID.
          *
-         * @return A 2D array containing the data for the user's borrowing history.
+         * @param offset The index of the first row of the window.
+         * @param limit The maximum number of rows in the window.
+         * @return The rows of the window, together with their columns.
          */
-        String[][] getBorrowingHistoryData();
+        TableData getAvailableTitlesData(int offset, int limit);
+
+        /**
+         * Retrieves the number of available titles.
+         *
+         * @return The number of available titles.
+         */
+        int getAvailableTitlesCount();
+
+        /**
+         * Retrieves a window of the user's borrowing history data, most recent first.
+         *
+         * @param offset The index of the first row of the window.
+         * @param limit The maximum number of rows in the window.
+         * @return The rows of the window, together with their columns.
+         */
+        TableData getBorrowingHistoryData(int offset, int limit);
+
+        /**
+         * Retrieves the number of borrowings in the user's history.
+         *
+         * @return The number of borrowings.
+         */
+        int getBorrowingHistoryCount();
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package data.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Represents the availability of a Book: how many copies it has, how many of them can be borrowed
+ * and how many are on loan.
+ * This class is mapped to the "book_availability" table in the database, which holds one row per book.
+ * The counters are kept up to date by the transactions that change copies and borrowings, so they can be read
+ * without counting the copies and borrowings of a book. The table is indexed on (availableCopies, bookId) to find
+ * the books that can be borrowed.
+ */
+@Entity
+@Table(name = "book_availability",
+        indexes = @Index(name = "idx_availability_available", columnList = "availableCopies, bookId"))
+public class BookAvailability {
+
+    /**
+     * The ID of the book the counters belong to.
+     */
+    @Id
+    private int bookId;
+
+    /**
+     * The number of copies of the book.
+     * This field cannot be null.
+     */
+    @Column(nullable = false)
+    private int totalCopies;
+
+    /**
+     * The number of copies of the book with the status "Available".
+     * This field cannot be null.
+     */
+    @Column(nullable = false)
+    private int availableCopies;
+
+    /**
+     * The number of borrowings of copies of the book that have not been returned.
+     * This field cannot be null.
+     */
+    @Column(nullable = false)
+    private int onLoan;
+
+    /**
+     * Retrieves the ID of the book the counters belong to.
+     *
+     * @return The ID of the book.
+     */
+    public int getBookId() {
+        return bookId;
+    }
+
+    /**
+     * Sets the ID of the book the counters belong to.
+     *
+     * @param bookId The ID of the book.
+     */
+    public void setBookId(int bookId) {
+        this.bookId = bookId;
+    }
+
+    /**
+     * Retrieves the number of copies of the book.
+     *
+     * @return The number of copies.
+     */
+    public int getTotalCopies() {
+        return totalCopies;
+    }
+
+    /**
+     * Sets the number of copies of the book.
+     *
+     * @param totalCopies The number of copies.
+     */
+    public void setTotalCopies(int totalCopies) {
+        this.totalCopies = totalCopies;
+    }
+
+    /**
+     * Retrieves the number of available copies of the book.
+     *
+     * @return The number of available copies.
+     */
+    public int getAvailableCopies() {
+        return availableCopies;
+    }
+
+    /**
+     * Sets the number of available copies of the book.
+     *
+     * @param availableCopies The number of available copies.
+     */
+    public void setAvailableCopies(int availableCopies) {
+        this.availableCopies = availableCopies;
+    }
+
+    /**
+     * Retrieves the number of copies of the book on loan.
+     *
+     * @return The number of open borrowings.
+     */
+    public int getOnLoan() {
+        return onLoan;
+    }
+
+    /**
+     * Sets the number of copies of the book on loan.
+     *
+     * @param onLoan The number of open borrowings.
+     */
+    public void setOnLoan(int onLoan) {
+        this.onLoan = onLoan;
+    }
+
+    /**
+     * Returns a string representation of the availability.
+     * This implementation returns the ID of the book as a string.
+     *
+     * @return A string representation of the availability.
+     */
+    @Override
+    public String toString() {
+        return String.valueOf(bookId);
+    }
+}
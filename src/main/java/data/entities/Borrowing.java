@@ -9,9 +9,10 @@ import java.util.Date;
  * Represents a Borrowing entity in the system.
  * This class is mapped to the "borrowing" table in the database,
  * which stores information about book borrowings.
+ * The table is indexed on (MEMBERID, borrowDate) to look up the borrowing history of a member.
  */
 @Entity
-@Table(name = "borrowing")
+@Table(name = "borrowing", indexes = @Index(name = "idx_borrowing_member_date", columnList = "MEMBERID, borrowDate"))
 public class Borrowing {
 
     /**
@@ -3,13 +3,16 @@ package data.entities;
 import data.annotations.Display;
 import data.annotations.MatchPattern;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Represents a Copy entity in the system.
  * This class is mapped to the "copy" table in the database.
+ * The table is indexed on (bookId, status) to look up the available copies of a book.
+ * Copies are versioned, so two transactions lending the same copy at once cannot both commit.
  */
 @Entity
-@Table(name = "copy")
+@Table(name = "copy", indexes = @Index(name = "idx_copy_book_status", columnList = "bookId, status"))
 public class Copy {
 
     /**
@@ -49,6 +52,16 @@ public class Copy {
     @Column(nullable = false)
     private String status;
 
+    /**
+     * The version of the copy, incremented by every update.
+     * An update of a copy that has been changed since it was read fails instead of overwriting the change.
+     * Rows inserted without a version start at 0.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int version;
+
     /**
      * Retrieves the unique ID of the copy.
      *
@@ -121,6 +134,24 @@ public class Copy {
         this.status = status;
     }
 
+    /**
+     * Retrieves the version of the copy.
+     *
+     * @return The version of the copy.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the copy.
+     *
+     * @param version The version to set for the copy.
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     /**
      * Returns a string representation of the copy.
      * This implementation returns the copy's ID as a string.
@@ -0,0 +1,55 @@
+package data.events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Process-wide channel through which the DAOs announce committed changes to entities.
+ * <p>
+ * Events are published after the transaction making the change has been committed, and listeners are called
+ * synchronously on the publishing thread, which is usually a background thread. Listeners that touch Swing
+ * components must hand the work over to the Event Dispatch Thread themselves.
+ * </p>
+ */
+public class EntityChangeBus {
+
+    // Copy-on-write, since listeners are registered once and events are published from many threads
+    private static final List<Consumer<EntityChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private EntityChangeBus() {}
+
+    /**
+     * Registers a listener for all entity changes.
+     *
+     * @param listener the listener to call for every published event
+     */
+    public static void subscribe(Consumer<EntityChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the listener to remove
+     */
+    public static void unsubscribe(Consumer<EntityChangeEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Delivers an event to all registered listeners.
+     * A failing listener does not prevent the others from being called, nor does it fail the change.
+     *
+     * @param event the event to publish
+     */
+    public static void publish(EntityChangeEvent event) {
+        for (Consumer<EntityChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
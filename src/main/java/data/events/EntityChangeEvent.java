@@ -0,0 +1,42 @@
+package data.events;
+
+import data.constants.ChangeType;
+
+import java.util.List;
+
+/**
+ * Notification that entities have been changed in the database.
+ * A single save, update or delete carries one ID; a batched save or update carries the IDs of all written entities,
+ * so listeners can apply the whole batch at once.
+ * Only the identity of the entities is carried; listeners that need their new state read it themselves.
+ *
+ * @param entityClass the class of the changed entities
+ * @param type        the kind of change
+ * @param ids         the IDs of the changed entities
+ */
+public record EntityChangeEvent(Class<?> entityClass, ChangeType type, List<Integer> ids) {
+
+    public EntityChangeEvent {
+        ids = List.copyOf(ids);
+    }
+
+    /**
+     * Constructs a notification for a single changed entity.
+     *
+     * @param entityClass the class of the changed entity
+     * @param type        the kind of change
+     * @param id          the ID of the changed entity
+     */
+    public EntityChangeEvent(Class<?> entityClass, ChangeType type, int id) {
+        this(entityClass, type, List.of(id));
+    }
+
+    /**
+     * Checks whether the event is about more than one entity.
+     *
+     * @return true if the event was published for a batched write of several entities
+     */
+    public boolean isBulk() {
+        return ids.size() > 1;
+    }
+}
@@ -0,0 +1,344 @@
+package data.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * An in-process full-text index over text fields of an entity.
+ * <p>
+ * The indexed fields are split into tokens at every character that is not a letter or digit, and the tokens are
+ * case-folded. Each token maps to the sorted IDs of the entities containing it, and the tokens are kept in a sorted
+ * map, so a query token matches every indexed token it is a prefix of. An entity matches a query if every token
+ * of the query matches one of its tokens.
+ * </p>
+ * <p>
+ * The index is filled from the database on the first search and then kept up to date by the DAO of the entity,
+ * which passes every committed change to {@link #put(Object)} or {@link #remove(int)}. Searches and changes may
+ * run on any thread.
+ * </p>
+ * <p>
+ * The index is filled into new contents without holding its lock, so changes committed meanwhile do not wait
+ * for the whole table to be read. They are recorded instead and applied on top of the new contents before
+ * these replace the current ones.
+ * </p>
+ *
+ * @param <T> the type of the indexed entities
+ */
+public class SearchIndex<T> {
+
+    private final ToIntFunction<T> idFunction;
+    private final List<Function<T, String>> fields;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadMonitor = new Object();  // Lets a single thread fill the index at a time
+
+    // The fields below are guarded by the lock
+    private Contents contents = new Contents();
+    private List<Change> pendingChanges;  // Changes committed while the index is being filled, or null
+    private long generation;              // Raised on every invalidation, so a fill started before it is discarded
+    private volatile boolean loaded;
+
+    /**
+     * Constructs an empty index over the given fields.
+     *
+     * @param idFunction the function reading the ID of an entity
+     * @param fields     the functions reading the indexed text fields of an entity; null values are skipped
+     */
+    @SafeVarargs
+    public SearchIndex(ToIntFunction<T> idFunction, Function<T, String>... fields) {
+        this.idFunction = idFunction;
+        this.fields = List.of(fields);
+    }
+
+    /**
+     * Fills the index by running the given loader, unless it has been filled already.
+     * The loader is expected to pass every stored entity to the consumer it is given. It runs without holding
+     * the lock of the index, so changes committed meanwhile are not blocked; they are applied on top of what
+     * the loader has read once it has finished.
+     *
+     * @param loader the loader reading all entities from the database
+     */
+    public void ensureLoaded(Consumer<Consumer<T>> loader) {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadMonitor) {
+            while (!loaded) {
+                long startedAt;
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = new ArrayList<>();
+                    startedAt = generation;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                Contents filled = new Contents();
+                try {
+                    loader.accept(entity -> filled.put(idFunction.applyAsInt(entity), tokenize(entity)));
+                } catch (RuntimeException e) {
+                    lock.writeLock().lock();
+                    try {
+                        pendingChanges = null;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    throw e;
+                }
+
+                lock.writeLock().lock();
+                try {
+                    if (generation == startedAt) {
+                        for (Change change : pendingChanges) {
+                            change.applyTo(filled);
+                        }
+                        contents = filled;
+                        loaded = true;
+                    }
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the contents of the index, so it is filled again on the next search.
+     * This is needed after the table has been changed without going through its DAO.
+     * A fill that is running is discarded and started again.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            generation++;
+            contents = new Contents();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an entity to the index, replacing the tokens it was indexed with before.
+     * Nothing is done while the index has not been filled, since the entity is read when it is.
+     *
+     * @param entity the inserted or updated entity
+     */
+    public void put(T entity) {
+        apply(new Change(idFunction.applyAsInt(entity), tokenize(entity)));
+    }
+
+    /**
+     * Removes an entity from the index.
+     *
+     * @param id the ID of the deleted entity
+     */
+    public void remove(int id) {
+        apply(new Change(id, null));
+    }
+
+    /**
+     * Finds the entities matching a query.
+     *
+     * @param query the text to search for; every token of it must be the prefix of a token of a matching entity
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the matching entities in ascending order, at most {@code limit} of them
+     * @throws IllegalStateException if the index has not been filled
+     */
+    public int[] search(String query, int limit) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0 || limit <= 0) {
+            return new int[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!loaded) {
+                throw new IllegalStateException("Search index has not been loaded.");
+            }
+
+            BitSet matches = null;
+            for (String queryToken : queryTokens) {
+                BitSet tokenMatches = new BitSet();
+                // Every indexed token starting with the query token lies between it and the next possible prefix
+                for (Postings ids : contents.postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).values()) {
+                    ids.addTo(tokenMatches);
+                }
+                if (matches == null) {
+                    matches = tokenMatches;
+                } else {
+                    matches.and(tokenMatches);
+                }
+                if (matches.isEmpty()) {
+                    break;
+                }
+            }
+
+            int[] result = new int[Math.min(limit, matches.cardinality())];
+            int id = matches.nextSetBit(0);
+            for (int i = 0; i < result.length; i++) {
+                result[i] = id;
+                id = matches.nextSetBit(id + 1);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed change to the filled index, or records it if the index is being filled.
+     *
+     * @param change the change to apply
+     */
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            if (loaded) {
+                change.applyTo(contents);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Splits the indexed fields of an entity into distinct tokens.
+     *
+     * @param entity the entity to tokenize
+     * @return the distinct tokens of all indexed fields
+     */
+    private String[] tokenize(T entity) {
+        List<String> tokens = new ArrayList<>();
+        for (Function<T, String> field : fields) {
+            String value = field.apply(entity);
+            if (value != null) {
+                tokens.addAll(Arrays.asList(tokenize(value)));
+            }
+        }
+        return tokens.stream().distinct().toArray(String[]::new);
+    }
+
+    /**
+     * Splits text into case-folded tokens at every character that is not a letter or digit.
+     *
+     * @param text the text to split
+     * @return the tokens of the text, in order
+     */
+    static String[] tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * The tokens of the indexed entities: every token with the IDs containing it, and the tokens of every entity.
+     */
+    private static class Contents {
+        private final NavigableMap<String, Postings> postings = new TreeMap<>();  // Token to the IDs containing it
+        private final Map<Integer, String[]> tokensById = new HashMap<>();        // Tokens of every entity, for removal
+
+        void put(int id, String[] tokens) {
+            remove(id);
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, _ -> new Postings()).add(id);
+            }
+            tokensById.put(id, tokens);
+        }
+
+        void remove(int id) {
+            String[] tokens = tokensById.remove(id);
+            if (tokens == null) {
+                return;
+            }
+            for (String token : tokens) {
+                Postings ids = postings.get(token);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * A committed change of an entity: its new tokens, or null tokens for a deletion.
+     */
+    private record Change(int id, String[] tokens) {
+
+        void applyTo(Contents contents) {
+            if (tokens != null) {
+                contents.put(id, tokens);
+            } else {
+                contents.remove(id);
+            }
+        }
+    }
+
+    /**
+     * The sorted IDs of the entities containing a token.
+     * New entities get the highest ID, so IDs are almost always appended at the end.
+     */
+    private static class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            int index = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0 && index < size) {
+                return;  // Already present
+            }
+            int insertAt = index >= 0 ? index : -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void addTo(BitSet set) {
+            for (int i = 0; i < size; i++) {
+                set.set(ids[i]);
+            }
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package domain;
 
-import data.annotations.MatchPattern;
 import data.dao.*;
 import data.dao.DAO;
+import data.constants.ExportFormat;
 import data.dependencies.LibrarianContract;
-import jakarta.persistence.Column;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Temporal;
-
-import java.lang.reflect.Field;
-import java.text.SimpleDateFormat;
+import data.dependencies.QuerySpec;
+import data.dependencies.TableData;
+import data.entities.Borrowing;
+import utils.EntityAccessor;
+import utils.EntityBinder;
+import utils.EntityExporter;
+import utils.ValidationException;
+
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -19,144 +22,144 @@ import java.util.*;
  */
 public class LibrarianModel implements LibrarianContract.Model {
 
+    private final CirculationService circulationService = new CirculationService();
+
     /**
-     * A generic method to map entities to column data for display.
-     * This method retrieves values of fields from the provided list of entities
-     * and organizes them into a 2D array.
+     * Retrieves data for the specified entity class.
      *
+     * @param entityClass the class of the entity to retrieve data for
      * @param <T>         the type of the entity
-     * @param columnNames the column names to be displayed
-     * @param entities    the list of entities to be mapped
-     * @return a 2D array of String values representing the mapped entities
+     * @return the rows of the specified entity, together with their columns
      */
-    private <T> String[][] mapEntitiesToColumns(List<String> columnNames, List<T> entities) {
-        List<String[]> result = new ArrayList<>();
-
-        result.add(columnNames.toArray(new String[0]));
-
-        result.addAll(entities.stream()
-                .map(entity -> columnNames.stream()
-                        .map(columnName -> {
-                            try {
-                                Field field = entity.getClass().getDeclaredField(columnName);
-                                field.setAccessible(true);
-                                Object value = field.get(entity);
-                                return value != null ? value.toString() : "null";
-                            } catch (NoSuchFieldException | IllegalAccessException e) {
-                                throw new RuntimeException("Error accessing field: " + columnName, e);
-                            }
-                        })
-                        .toArray(String[]::new))
-                .toList()
-        );
-
-        return result.toArray(new String[0][0]);
+    @Override
+    public <T> TableData getData(Class<T> entityClass) {
+        DAO<T> dao = (DAO<T>) DAOFactory.getDAO(entityClass);
+        return EntityAccessor.of(entityClass).toTable(dao.getAll());
     }
 
     /**
-     * Retrieves data for the specified entity class.
+     * Retrieves a window of rows for the specified entity class, ordered by ID.
      *
      * @param entityClass the class of the entity to retrieve data for
+     * @param offset      the index of the first row of the window
+     * @param limit       the maximum number of rows in the window
      * @param <T>         the type of the entity
-     * @return a 2D array of String values representing the data of the specified entity
+     * @return the rows of the window, together with their columns
      */
     @Override
-    public <T> String[][] getData(Class<T> entityClass) {
-        DAO<?> dao = DAOFactory.getDAO(entityClass);
-        List<?> entities = dao.getAll();
-        List<String> columnNames = dao.getColumnNames();
-        return mapEntitiesToColumns(columnNames, entities);
+    public <T> TableData getData(Class<T> entityClass, int offset, int limit) {
+        DAO<T> dao = (DAO<T>) DAOFactory.getDAO(entityClass);
+        return EntityAccessor.of(entityClass).toTable(dao.getPage(offset, limit).items());
+    }
+
+    /**
+     * Retrieves the total number of rows stored for the specified entity class.
+     *
+     * @param entityClass the class of the entity
+     * @return the number of rows
+     */
+    @Override
+    public int getRowCount(Class<?> entityClass) {
+        return Math.toIntExact(DAOFactory.getDAO(entityClass).count());
+    }
+
+    /**
+     * Retrieves a window of the rows of the specified entity class that meet a query specification.
+     *
+     * @param entityClass the class of the entity to retrieve data for
+     * @param spec        the filters and sort order of the rows
+     * @param offset      the index of the first row of the window
+     * @param limit       the maximum number of rows in the window
+     * @param <T>         the type of the entity
+     * @return the rows of the window, together with their columns
+     */
+    @Override
+    public <T> TableData getData(Class<T> entityClass, QuerySpec spec, int offset, int limit) {
+        DAO<T> dao = (DAO<T>) DAOFactory.getDAO(entityClass);
+        return EntityAccessor.of(entityClass).toTable(dao.getPage(spec, offset, limit).items());
+    }
+
+    /**
+     * Retrieves the number of rows of the specified entity class that meet the filters of a query specification.
+     *
+     * @param entityClass the class of the entity
+     * @param spec        the filters of the rows
+     * @return the number of matching rows
+     */
+    @Override
+    public int getRowCount(Class<?> entityClass, QuerySpec spec) {
+        return Math.toIntExact(DAOFactory.getDAO(entityClass).count(spec));
+    }
+
+    /**
+     * Retrieves a single row for the specified entity class.
+     *
+     * @param entityClass the class of the entity
+     * @param id          the ID of the entity
+     * @param <T>         the type of the entity
+     * @return the values of the entity as a single-row table, or null if the entity does not exist
+     */
+    @Override
+    public <T> TableData getRow(Class<T> entityClass, int id) {
+        DAO<T> dao = (DAO<T>) DAOFactory.getDAO(entityClass);
+        T entity = dao.getById(id);
+        return entity != null ? EntityAccessor.of(entityClass).toRow(entity) : null;
+    }
+
+    /**
+     * Checks whether the specified entity class has a search index.
+     *
+     * @param entityClass the class of the entity
+     * @return true if the entity class can be searched
+     */
+    @Override
+    public boolean isSearchable(Class<?> entityClass) {
+        return DAOFactory.getDAO(entityClass).isSearchable();
+    }
+
+    /**
+     * Searches the text fields of the specified entity class.
+     *
+     * @param entityClass the class of the entity
+     * @param query       the text to search for
+     * @param limit       the maximum number of rows to return
+     * @param <T>         the type of the entity
+     * @return the matching rows ordered by ID, together with their columns
+     */
+    @Override
+    public <T> TableData search(Class<T> entityClass, String query, int limit) {
+        DAO<T> dao = (DAO<T>) DAOFactory.getDAO(entityClass);
+        return EntityAccessor.of(entityClass).toTable(dao.search(query, limit));
     }
 
     /**
      * Inserts a new entity into the database.
+     * A new borrowing lends its copy, so it is checked out through the {@link CirculationService},
+     * which also marks the copy as borrowed.
      *
      * @param fieldData   the field data for the new entity
      * @param entityClass the class of the entity to insert
      * @return the ID of the newly inserted entity
+     * @throws ValidationException   if any of the field values is invalid
+     * @throws IllegalStateException if a borrowing is inserted for a copy that is not available
      */
     public int insert(Map<String, Object> fieldData, Class<?> entityClass) {
+        Object entity = EntityBinder.of(entityClass).create(fieldData);
+        if (entity instanceof Borrowing borrowing) {
+            if (borrowing.getMember() == null || borrowing.getCopy() == null) {
+                throw new IllegalArgumentException("The member and the copy of a borrowing must exist.");
+            }
+            return circulationService.checkout(borrowing.getMember().getId(), borrowing.getCopy().getId());
+        }
         try {
-            Object entity = entityClass.getDeclaredConstructor().newInstance();
-
-            Arrays.stream(entityClass.getDeclaredFields())
-                    .filter(field -> fieldData.containsKey(field.getName()))
-                    .peek(field -> field.setAccessible(true))
-                    .forEach(field -> {
-                        Object value = fieldData.get(field.getName());
-
-                        if (!isFieldNullable(field) && (value == null || value.toString().trim().isEmpty())) {
-                            throw new IllegalArgumentException("Field " + field.getName() + " cannot be null or empty.");
-                        }
-
-                        if (field.isAnnotationPresent(MatchPattern.class) && value != null) {
-                            String pattern = field.getAnnotation(MatchPattern.class).value();
-                            if (!value.toString().matches(pattern)) {
-                                throw new IllegalArgumentException(String.format(
-                                        "Field '%s' must match the pattern: %s", field.getName(), pattern
-                                ));
-                            }
-                        }
-
-                        try {
-                            if (field.isAnnotationPresent(JoinColumn.class)) {
-                                DAO<?> referencedDAO = DAOFactory.getDAO(field.getType());
-                                if (value != null && !value.toString().trim().isEmpty()) {
-                                    Object referencedEntity = referencedDAO.getById(Integer.parseInt(value.toString()));
-                                    field.set(entity, referencedEntity);
-                                } else {
-                                    field.set(entity, null);
-                                }
-                            } else {
-                                if (field.getType().equals(int.class)) {
-                                    field.set(entity, Integer.parseInt(value.toString()));
-                                } else if (field.getType().equals(String.class)) {
-                                    field.set(entity, value.toString());
-                                }
-                            }
-                        } catch (Exception e) {
-                            throw new RuntimeException("Error setting field " + field.getName(), e);
-                        }
-                    });
-
-            Arrays.stream(entityClass.getDeclaredFields())
-                    .filter(field -> field.isAnnotationPresent(Temporal.class))
-                    .peek(field -> field.setAccessible(true))
-                    .forEach(field -> {
-                        try {
-                            if (!isFieldNullable(field)) {
-                                if (field.getType().equals(Date.class)) {
-                                    field.set(entity, new Date());
-                                }
-                            }
-                        } catch (IllegalAccessException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
-
             DAO<Object> dao = (DAO<Object>) DAOFactory.getDAO(entityClass);
-            dao.save(entity);
-            Field idField = dao.getAll().getLast().getClass().getDeclaredField("id");
-            idField.setAccessible(true);
-            return idField.getInt(entity);
-
+            return dao.save(entity);
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException("Failed to insert entity", e);
         }
     }
 
-    /**
-     * Checks if a field is nullable based on its annotations.
-     *
-     * @param field the field to check
-     * @return true if the field is nullable, false otherwise
-     */
-    private boolean isFieldNullable(Field field) {
-        Column columnAnnotation = field.getAnnotation(Column.class);
-        return columnAnnotation != null && columnAnnotation.nullable();
-    }
-
     /**
      * Deletes an entity from the database by its ID.
      *
@@ -171,6 +174,21 @@ public class LibrarianModel implements LibrarianContract.Model {
         return id;
     }
 
+    /**
+     * Writes all entities of the specified class to a file, streaming them from the database.
+     *
+     * @param entityClass the class of the entities to export
+     * @param format      the format of the file
+     * @param file        the file to write
+     * @param <T>         the type of the entity
+     * @return the number of exported entities
+     */
+    @Override
+    public <T> long export(Class<T> entityClass, ExportFormat format, Path file) {
+        DAO<T> dao = (DAO<T>) DAOFactory.getDAO(entityClass);
+        return new EntityExporter<>(entityClass, format).export(dao, file);
+    }
+
     /**
      * Updates an existing entity in the database.
      *
@@ -178,54 +196,17 @@ public class LibrarianModel implements LibrarianContract.Model {
      * @param fieldData   the field data to update
      * @param entityClass the class of the entity to update
      * @return the ID of the updated entity
+     * @throws ValidationException if any of the field values is invalid or the row no longer exists
      */
     public int update(int id, Map<String, Object> fieldData, Class<?> entityClass) {
-        Object entity = DAOFactory.getDAO(entityClass).getById(id);
-
-        Arrays.stream(entity.getClass().getDeclaredFields())
-                .filter(field -> fieldData.containsKey(field.getName()))
-                .peek(field -> field.setAccessible(true))
-                .forEach(field -> {
-                    Object value = fieldData.get(field.getName());
-                    if (!isFieldNullable(field) && (value == null || value.toString().trim().isEmpty())) {
-                        throw new IllegalArgumentException("Field " + field.getName() + " cannot be null or empty.");
-                    }
-
-                    if (field.isAnnotationPresent(MatchPattern.class) && value != null) {
-                        String pattern = field.getAnnotation(MatchPattern.class).value();
-                        if (!value.toString().matches(pattern)) {
-                            throw new IllegalArgumentException(String.format(
-                                    "Field '%s' must match the pattern: %s", field.getName(), pattern
-                            ));
-                        }
-                    }
-
-                    try {
-                        if (field.isAnnotationPresent(JoinColumn.class)) {
-                            DAO<?> referencedDAO = DAOFactory.getDAO(field.getType());
-                            if (value != null && !value.toString().trim().isEmpty()) {
-                                Object referencedEntity = referencedDAO.getById(Integer.parseInt(value.toString()));
-                                field.set(entity, referencedEntity);
-                            } else {
-                                field.set(entity, null);
-                            }
-                        } else {
-                            if (field.getType().equals(int.class)) {
-                                field.set(entity, Integer.parseInt(value.toString()));
-                            } else if (field.getType().equals(String.class)) {
-                                field.set(entity, value.toString());
-                            } else if (field.getType().equals(Date.class)) {
-                                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-                                field.set(entity, sdf.parse(value.toString()));
-                            }
-                        }
-                    } catch (Exception e) {
-                        throw new RuntimeException("Error setting field " + field.getName(), e);
-                    }
-                });
-
         DAO<Object> dao = (DAO<Object>) DAOFactory.getDAO(entityClass);
+        Object entity = dao.getById(id);
+        if (entity == null) {
+            throw new ValidationException(List.of("Row " + id + " no longer exists."));
+        }
+
+        ((EntityBinder<Object>) EntityBinder.of(entityClass)).bind(entity, fieldData);
         dao.update(entity);
         return id;
     }
-}
\ No newline at end of file
+}
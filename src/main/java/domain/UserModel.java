@@ -1,12 +1,12 @@
 package domain;
 
 import data.dao.*;
+import data.dependencies.TableData;
 import data.dependencies.UserContract;
 import data.entities.Book;
 import data.entities.Borrowing;
+import utils.EntityAccessor;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,10 +18,6 @@ public class UserModel implements UserContract.Model {
     private int userId;
     private final BookDAO bookDAO = new BookDAO();
     private final BorrowingDAO borrowingDAO = new BorrowingDAO();
-    private final CopyDAO copyDAO = new CopyDAO();
-    private final LibrarianModel librarianModel = new LibrarianModel();
-    private final MemberDAO memberDAO = new MemberDAO();
-    private final PublisherDAO publisherDAO = new PublisherDAO();
 
     /**
      * Sets the userId for the UserModel.
@@ -34,94 +30,72 @@ public class UserModel implements UserContract.Model {
     }
 
     /**
-     * A generic method to map entities to column data for display.
-     * This method retrieves the values of fields from the provided list of entities
-     * and organizes them into a 2D array.
+     * Retrieves a window of the data for all book titles, ordered by ID.
      *
-     * @param <T> the type of the entity
-     * @param columnNames the column names to be displayed
-     * @param entities the list of entities to be mapper
-     * @return a 2D array of String values representing the mapped entities
+     * @param offset the index of the first row of the window
+     * @param limit  the maximum number of rows in the window
+     * @return the rows of the window, together with their columns
      */
-    private <T> String[][] mapEntitiesToColumns(List<String> columnNames, List<T> entities) {
-        List<String[]> result = new ArrayList<>();
-
-        result.add(columnNames.toArray(new String[0]));
-
-        result.addAll(entities.stream()
-                .map(entity -> columnNames.stream()
-                        .map(columnName -> {
-                            try {
-                                Field field = entity.getClass().getDeclaredField(columnName);
-                                field.setAccessible(true);
-                                Object value = field.get(entity);
-                                return value != null ? value.toString() : "null";
-                            } catch (NoSuchFieldException | IllegalAccessException e) {
-                                throw new RuntimeException("Error accessing field: " + columnName, e);
-                            }
-                        })
-                        .toArray(String[]::new))
-                .toList()
-        );
-
-        return result.toArray(new String[0][0]);
+    @Override
+    public TableData getAllTitlesData(int offset, int limit) {
+        return EntityAccessor.of(Book.class).toTable(bookDAO.getPage(offset, limit).items());
     }
 
     /**
-     * Retrieves data for all book titles in the library.
-     * This method fetches all books and returns them as a 2D array of strings.
-     * Each row represents a book with its corresponding details.
+     * Retrieves the total number of book titles in the library.
      *
-     * @return a 2D array of strings representing all book titles and their details
+     * @return the number of titles
      */
     @Override
-    public String[][] getAllTitlesData() {
-        List<String> columnNames = bookDAO.getColumnNames();
-        List<Book> books = bookDAO.getAll();
-        return mapEntitiesToColumns(columnNames, books);
+    public int getAllTitlesCount() {
+        return Math.toIntExact(bookDAO.count());
     }
 
     /**
-     * Retrieves data for books that are currently available in the library.
-     * This method filters out books that are not available and returns the available books as a 2D array.
+     * Retrieves a window of the data for books that are currently available in the library, ordered by ID.
+     * A book is available if at least one of its copies is available; this is checked by the database,
+     * so only the books of the window are loaded.
      *
-     * @return a 2D array of strings representing the available books and their details
+     * @param offset the index of the first row of the window
+     * @param limit  the maximum number of rows in the window
+     * @return the rows of the window, together with their columns
      */
     @Override
-    public String[][] getAvailableTitlesData() {
-        List<String> columnNames = bookDAO.getColumnNames();
-
-        // Fetch available book titles by checking the status of each copy
-        List<String> availableBookTitles = copyDAO.getAll().stream()
-                .filter(copy -> "Available".equals(copy.getStatus()))
-                .map(copy -> copy.getBook().getTitle())
-                .distinct()
-                .toList();
-
-        // Filter books to include only those with available copies
-        List<Book> availableBooks = bookDAO.getAll().stream()
-                .filter(book -> availableBookTitles.contains(book.getTitle()))
-                .toList();
-
-        return mapEntitiesToColumns(columnNames, availableBooks);
+    public TableData getAvailableTitlesData(int offset, int limit) {
+        return EntityAccessor.of(Book.class).toTable(bookDAO.getAvailableBooks(offset, limit).items());
     }
 
     /**
-     * Retrieves the borrowing history of a user.
-     * This method filters borrowings associated with the user's ID and returns the borrowing data
-     * as a 2D array of strings.
+     * Retrieves the number of books that are currently available in the library.
      *
-     * @return a 2D array of strings representing the user's borrowing history
+     * @return the number of available titles
      */
     @Override
-    public String[][] getBorrowingHistoryData() {
-        List<String> columnNames = borrowingDAO.getColumnNames();
+    public int getAvailableTitlesCount() {
+        return Math.toIntExact(bookDAO.countAvailableBooks());
+    }
 
-        // Get borrowings related to the user
-        List<Borrowing> borrowings = borrowingDAO.getAll().stream()
-                .filter(borrowing -> borrowing.getMember().getId() == userId)
-                .toList();
+    /**
+     * Retrieves a window of the borrowing history of the user, most recent first.
+     * The borrowings are looked up by member in the database, so only the rows of the window are loaded.
+     *
+     * @param offset the index of the first row of the window
+     * @param limit  the maximum number of rows in the window
+     * @return the rows of the window, together with their columns
+     */
+    @Override
+    public TableData getBorrowingHistoryData(int offset, int limit) {
+        List<Borrowing> borrowings = borrowingDAO.getBorrowingsByUserId(userId, null, null, offset, limit).items();
+        return EntityAccessor.of(Borrowing.class).toTable(borrowings);
+    }
 
-        return mapEntitiesToColumns(columnNames, borrowings);
+    /**
+     * Retrieves the number of borrowings in the history of the user.
+     *
+     * @return the number of borrowings
+     */
+    @Override
+    public int getBorrowingHistoryCount() {
+        return Math.toIntExact(borrowingDAO.countBorrowingsByUserId(userId, null, null));
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,30 @@
 package presentation;
 
 import data.annotations.Display;
+import data.constants.ChangeType;
+import data.constants.ExportFormat;
+import data.constants.LoadState;
 import data.constants.Tables;
 import data.dependencies.LibrarianContract;
+import data.dependencies.QuerySpec;
+import data.dependencies.RowSource;
+import data.dependencies.TableData;
+import data.events.EntityChangeBus;
+import data.events.EntityChangeEvent;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Temporal;
+import utils.BackgroundExecutor;
 
 import java.awt.event.ActionListener;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * LibrarianPresenter is the controller class that handles the logic for managing library entities
@@ -24,10 +39,22 @@ public class LibrarianPresenter implements LibrarianContract.Presenter {
 
     private final LibrarianContract.View view;
     private final LibrarianContract.Model model;
+    private final RefreshEngine refreshEngine = new RefreshEngine();
+
+    // Kept so the same listener can be removed from the bus when the presenter is disposed
+    private final Consumer<EntityChangeEvent> changeListener = this::onEntityChanged;
+
+    private static final int SEARCH_LIMIT = 1000;  // Maximum number of rows shown for a search
+
+    // The full-text search of every searched table; only accessed on the Event Dispatch Thread
+    private final Map<Tables, String> activeSearches = new EnumMap<>(Tables.class);
+
+    // The filters and sort order of every table, applied by the database; only accessed on the Event Dispatch Thread
+    private final Map<Tables, QuerySpec> querySpecs = new EnumMap<>(Tables.class);
 
     /**
      * Constructs a new LibrarianPresenter with the specified view and model.
-     * Initializes listeners for button actions and populates tables with existing data.
+     * Initializes listeners for button actions, subscribes to entity changes and populates tables with existing data.
      *
      * @param view  the view instance that interacts with the user
      * @param model the model instance that interacts with the data
@@ -36,11 +63,21 @@ public class LibrarianPresenter implements LibrarianContract.Presenter {
         this.view = view;
         this.model = model;
         initListeners();
+        EntityChangeBus.subscribe(changeListener);
         refreshAll();
     }
 
     /**
-     * Initializes the listeners for the insert, delete, and update buttons.
+     * Unsubscribes the presenter from entity changes, so it no longer reads rows for a view that is not shown.
+     */
+    @Override
+    public void dispose() {
+        EntityChangeBus.unsubscribe(changeListener);
+    }
+
+    /**
+     * Initializes the listeners for the insert, delete, and update buttons, and for the filter boxes
+     * and column headers of the tables.
      * These listeners respond to user actions and trigger the corresponding actions.
      */
     @Override
@@ -48,6 +85,81 @@ public class LibrarianPresenter implements LibrarianContract.Presenter {
         view.addInsertButtonListener(createInsertTitleButtonListener());
         view.addDeleteButtonListener(createDeleteTitleButtonListener());
         view.addUpdateButtonListener(createUpdateTitleButtonListener());
+        view.addExportButtonListener(createExportButtonListener());
+        for (Tables table : Tables.values()) {
+            view.addSearchListener(table, text -> filter(table, text));
+            view.addSortListener(table, column -> sort(table, column));
+        }
+    }
+
+    /**
+     * Applies the text of the filter box of a table.
+     * Text written as filters, such as {@code publicationYear >= 1950 and title ~ gatsby}, is applied by the database
+     * on top of the sort order of the table; any other text is searched for in the tables that have a search index.
+     * An empty text shows all rows again.
+     *
+     * @param table the table to filter
+     * @param text  the text of the filter box
+     */
+    private void filter(Tables table, String text) {
+        QuerySpec spec = getQuerySpec(table);
+        List<QuerySpec.Filter> filters = text.isEmpty() ? List.of() : QuerySpec.parseFilters(text);
+        if (filters != null) {
+            activeSearches.remove(table);
+            querySpecs.put(table, spec.withFilters(filters));
+            refreshTable(table);
+        } else if (model.isSearchable(table.getEntityClass())) {
+            querySpecs.put(table, spec.withFilters(List.of()));
+            search(table, text);
+        } else {
+            view.createErrorDialog("Error", "Filters are written as \"column operator value\", joined by \"and\". "
+                    + "The operators are = != < <= > >= and ~ for \"contains\".");
+        }
+    }
+
+    /**
+     * Sorts a table by a column, or reverses the order if it is sorted by that column already.
+     * The rows are read again from the database in the new order.
+     * The results of a full-text search are always ordered by ID; their sort order applies once the search is cleared.
+     *
+     * @param table  the table to sort
+     * @param column the name of the column to sort by
+     */
+    private void sort(Tables table, String column) {
+        querySpecs.put(table, getQuerySpec(table).toggleSort(column));
+        if (!activeSearches.containsKey(table)) {
+            refreshTable(table);
+        }
+    }
+
+    private QuerySpec getQuerySpec(Tables table) {
+        return querySpecs.getOrDefault(table, QuerySpec.NONE);
+    }
+
+    /**
+     * Filters a table to the rows matching the given text.
+     * The search runs in the background; if the text changes before it completes, its result is discarded.
+     *
+     * @param table the table to filter
+     * @param query the text to search for
+     */
+    private void search(Tables table, String query) {
+        activeSearches.put(table, query);
+        view.setTableState(table, LoadState.LOADING);
+        BackgroundExecutor.supply(() -> model.search(table.getEntityClass(), query, SEARCH_LIMIT))
+                .handleAsync((rows, error) -> {
+                    if (!query.equals(activeSearches.get(table))) {
+                        return null;  // Superseded by a later search
+                    }
+                    if (error != null) {
+                        view.setTableState(table, LoadState.FAILED);
+                        view.createErrorDialog("Error", BackgroundExecutor.unwrap(error).getMessage());
+                        return null;
+                    }
+                    view.updateTableModel(table, rows.getColumnNames(), RowSource.of(rows));
+                    view.setTableState(table, LoadState.READY);
+                    return null;
+                }, BackgroundExecutor.EDT);
     }
 
     /**
@@ -76,9 +188,7 @@ public class LibrarianPresenter implements LibrarianContract.Presenter {
                             throw new RuntimeException("Invalid input for field: " + field.getName(), e);
                         }
                     });
-            model.insert(fieldValues, entityClass);
-
-            refreshTable(view.getCurrentTable());
+            runInBackground(() -> model.insert(fieldValues, entityClass));
         };
     }
 
@@ -104,10 +214,14 @@ public class LibrarianPresenter implements LibrarianContract.Presenter {
                 throw new IllegalStateException("ID column not found.");
             }
 
-            int id = Integer.parseInt(view.getValueAt(selectedRow, idColumnIndex));
+            String idText = view.getValueAt(selectedRow, idColumnIndex);
+            if (idText.isEmpty()) {
+                view.createErrorDialog("Error", "The selected row is still loading.");
+                return;
+            }
+            int id = Integer.parseInt(idText);
 
-            model.delete(id, entityClass);
-            refreshTable(view.getCurrentTable());
+            runInBackground(() -> model.delete(id, entityClass));
         };
     }
 
@@ -131,7 +245,12 @@ public class LibrarianPresenter implements LibrarianContract.Presenter {
                 throw new IllegalStateException("ID column not found.");
             }
 
-            int id = Integer.parseInt(view.getValueAt(selectedRow, idColumnIndex));
+            String idText = view.getValueAt(selectedRow, idColumnIndex);
+            if (idText.isEmpty()) {
+                view.createErrorDialog("Error", "The selected row is still loading.");
+                return;
+            }
+            int id = Integer.parseInt(idText);
 
             Map<String, Object> fieldValues = new HashMap<>();
             Arrays.stream(entityClass.getDeclaredFields())
@@ -149,8 +268,36 @@ public class LibrarianPresenter implements LibrarianContract.Presenter {
                         }
                     });
 
-            model.update(id, fieldValues, entityClass);
-            refreshTable(view.getCurrentTable());
+            runInBackground(() -> model.update(id, fieldValues, entityClass));
+        };
+    }
+
+    /**
+     * Creates an ActionListener for the export button.
+     * This listener asks for a file and writes all entities of the current table to it in the background,
+     * as JSON Lines if the file name ends in ".jsonl" and as CSV otherwise.
+     *
+     * @return the ActionListener for the export button
+     */
+    private ActionListener createExportButtonListener() {
+        return _ -> {
+            Tables table = view.getCurrentTable();
+            Path file = view.createSaveDialog("Export " + table.name(),
+                    table.name().toLowerCase() + "." + ExportFormat.CSV.getExtension());
+            if (file == null) {
+                return;
+            }
+
+            ExportFormat format = ExportFormat.ofFileName(file.getFileName().toString());
+            BackgroundExecutor.supply(() -> model.export(table.getEntityClass(), format, file))
+                    .handleAsync((count, error) -> {
+                        if (error != null) {
+                            view.createErrorDialog("Error", BackgroundExecutor.unwrap(error).getMessage());
+                        } else {
+                            view.createMessageDialog("Export", "Exported " + count + " rows to " + file + ".");
+                        }
+                        return null;
+                    }, BackgroundExecutor.EDT);
         };
     }
 
@@ -171,35 +318,152 @@ public class LibrarianPresenter implements LibrarianContract.Presenter {
 
     /**
      * Refreshes all the tables in the view by fetching the latest data from the model.
+     * The tables are loaded in parallel, bounded by the {@link RefreshEngine}, and each table is shown
+     * as soon as its own data has arrived. Once all tables are loaded, the load time of each is reported.
      */
     @Override
     public void refreshAll() {
-        for (Tables table : Tables.values()) {
-            refreshTable(table);
-        }
+        CompletableFuture<?>[] refreshes = Arrays.stream(Tables.values())
+                .map(this::refreshTable)
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(refreshes).whenComplete((_, _) -> refreshEngine.logReport());
     }
 
     /**
-     * Refreshes a specific table in the view.
+     * Refreshes a specific table in the view, applying its filters and sort order.
+     * The row count and the first block of rows are read in the background; further rows are loaded by the view
+     * as they are displayed. While the data is being read, the table is shown as loading.
+     * If the filters or sort order of the table change before the data arrives, the data is discarded.
      *
      * @param table the table to refresh
+     * @return a future completed once the table has been updated in the view
+     */
+    private CompletableFuture<Void> refreshTable(Tables table) {
+        Class<?> entityClass = table.getEntityClass();
+        QuerySpec spec = getQuerySpec(table);
+        view.setTableState(table, LoadState.LOADING);
+
+        return refreshEngine.submit(table, () -> new TableWindow(
+                        model.getRowCount(entityClass, spec),
+                        model.getData(entityClass, spec, 0, RowSource.BLOCK_SIZE)
+                ))
+                .handleAsync((window, error) -> {
+                    if (getQuerySpec(table) != spec || activeSearches.containsKey(table)) {
+                        return null;  // Superseded by a later filter, sort or search
+                    }
+                    if (error != null) {
+                        view.setTableState(table, LoadState.FAILED);
+                        view.createErrorDialog("Error", BackgroundExecutor.unwrap(error).getMessage());
+                        return null;
+                    }
+                    String[] columns = window.data().getColumnNames();
+                    view.updateTableModel(table, columns, createRowSource(entityClass, spec, window));
+                    view.setTableState(table, LoadState.READY);
+                    return null;
+                }, BackgroundExecutor.EDT);
+    }
+
+    /**
+     * Runs a model operation in the background. If the operation fails, an error dialog is shown
+     * on the Event Dispatch Thread. Successful changes reach the tables through {@link #onEntityChanged}.
+     *
+     * @param task the model operation to run
      */
-    private void refreshTable(Tables table) {
-        String[][] data = model.getData(table.getEntityClass());
-        String[] columns = data[0];
-        String[][] rows = getDataRows(data);
-        view.updateTableModel(table, columns, rows);
+    private void runInBackground(Runnable task) {
+        BackgroundExecutor.run(task)
+                .exceptionallyAsync(error -> {
+                    view.createErrorDialog("Error", BackgroundExecutor.unwrap(error).getMessage());
+                    return null;
+                }, BackgroundExecutor.EDT);
+    }
+
+    /**
+     * Applies a committed change of an entity to its table, so a single edit does not reload the whole table.
+     * The new values of inserted and updated rows are read in the background; the row is then patched in the view
+     * on the Event Dispatch Thread. A bulk change reloads the table once instead of patching every row.
+     *
+     * @param event the change published by the data layer
+     */
+    private void onEntityChanged(EntityChangeEvent event) {
+        Tables table = Tables.of(event.entityClass());
+        if (table == null || event.ids().isEmpty()) {
+            return;
+        }
+        BackgroundExecutor.EDT.execute(() -> {
+            // A filtered or sorted table only shows matching rows in its own order, so it is read again instead of patched
+            String query = activeSearches.get(table);
+            if (query != null) {
+                search(table, query);
+            } else if (event.isBulk() || !getQuerySpec(table).equals(QuerySpec.NONE)) {
+                refreshTable(table);
+            } else {
+                patchRow(table, event);
+            }
+        });
+    }
+
+    /**
+     * Applies a committed change of a single entity to the rows of its unfiltered table.
+     *
+     * @param table the table of the entity
+     * @param event the change published by the data layer
+     */
+    private void patchRow(Tables table, EntityChangeEvent event) {
+        int id = event.ids().getFirst();
+        if (event.type() == ChangeType.DELETE) {
+            view.applyRowChange(table, event.type(), id, null);
+            return;
+        }
+        BackgroundExecutor.supply(() -> model.getRow(event.entityClass(), id))
+                .thenAcceptAsync(row -> {
+                    // A missing row has been deleted in the meantime, which is applied by its own event
+                    if (row != null) {
+                        view.applyRowChange(table, event.type(), id, row);
+                    }
+                }, BackgroundExecutor.EDT)
+                .exceptionally(error -> {
+                    BackgroundExecutor.unwrap(error).printStackTrace();
+                    return null;
+                });
+    }
+
+    /**
+     * Creates a row source that reads the rows of the given entity class from the model window by window.
+     * The first request for the first block is served from the data read by the latest refresh.
+     *
+     * @param entityClass the class of the entity to read
+     * @param spec        the filters and sort order of the rows
+     * @param window      the row count and first block read by the latest refresh
+     * @return the row source for the entity class
+     */
+    private RowSource createRowSource(Class<?> entityClass, QuerySpec spec, TableWindow window) {
+        AtomicReference<TableData> firstBlock = new AtomicReference<>(window.data());
+        return new RowSource() {
+            @Override
+            public int getRowCount() {
+                return window.rowCount();
+            }
+
+            @Override
+            public TableData getRows(int offset, int limit) {
+                if (offset == 0 && limit == RowSource.BLOCK_SIZE) {
+                    // Served once only, since the table may have changed by the time the block is read again
+                    TableData block = firstBlock.getAndSet(null);
+                    if (block != null) {
+                        return block;
+                    }
+                }
+                return model.getData(entityClass, spec, offset, limit);
+            }
+        };
     }
 
     /**
-     * Extracts data rows from the given 2D array, skipping the first row (which contains the column names).
+     * The data read by a table refresh: the total row count and the first block of rows.
      *
-     * @param data the data array (with first row as column names)
-     * @return the data rows excluding the first row
+     * @param rowCount the number of rows in the table
+     * @param data     the first block of rows, together with the columns of the table
      */
-    private String[][] getDataRows(String[][] data) {
-        return Arrays.stream(data)
-                .skip(1)
-                .toArray(String[][]::new);
+    private record TableWindow(int rowCount, TableData data) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package presentation;
+
+import data.constants.Tables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.BackgroundExecutor;
+import utils.HibernateUtil;
+import utils.PoolMetrics;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The RefreshEngine class loads table data in the background with a bounded number of concurrent loads.
+ * <p>
+ * Loads for different tables run in parallel, but never more than the configured limit at once, so a
+ * full refresh does not open more database connections than the application is willing to spend.
+ * The duration of the latest load of every table is recorded, so slow tables can be spotted in the report,
+ * which is logged at debug level.
+ * </p>
+ */
+public class RefreshEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshEngine.class);
+
+    /**
+     * System property that overrides the default number of concurrent loads.
+     */
+    public static final String CONCURRENCY_PROPERTY = "library.refresh.concurrency";
+
+    /**
+     * Number of concurrent loads used when the system property is not set.
+     */
+    public static final int DEFAULT_CONCURRENCY = 3;
+
+    private final Semaphore permits;
+    private final Map<Tables, Long> timings = new ConcurrentHashMap<>();  // Latest load time per table, in nanoseconds
+
+    /**
+     * Constructs a RefreshEngine whose concurrency limit is read from the {@value #CONCURRENCY_PROPERTY}
+     * system property, falling back to {@value #DEFAULT_CONCURRENCY}.
+     */
+    public RefreshEngine() {
+        this(Integer.getInteger(CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY));
+    }
+
+    /**
+     * Constructs a RefreshEngine with the given concurrency limit.
+     *
+     * @param maxConcurrency the maximum number of loads running at the same time
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public RefreshEngine(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive: " + maxConcurrency);
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Loads data for a table in the background once a concurrency permit is available.
+     * The time spent in the load itself, excluding the wait for a permit, is recorded for the table.
+     *
+     * @param table the table the data belongs to
+     * @param load  the task reading the data
+     * @param <T>   the type of the data
+     * @return a future completed with the loaded data
+     */
+    public <T> CompletableFuture<T> submit(Tables table, Supplier<T> load) {
+        return BackgroundExecutor.supply(() -> {
+            permits.acquireUninterruptibly();
+            long start = System.nanoTime();
+            try {
+                return load.get();
+            } finally {
+                timings.put(table, System.nanoTime() - start);
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Returns the duration of the latest load of every table that has been loaded.
+     *
+     * @return the load times in milliseconds, by table
+     */
+    public Map<Tables, Long> getTimings() {
+        Map<Tables, Long> millis = new EnumMap<>(Tables.class);
+        timings.forEach((table, nanos) -> millis.put(table, nanos / 1_000_000));
+        return millis;
+    }
+
+    /**
+     * Logs the load times of all tables, slowest first, followed by the state of the connection pool.
+     * Nothing is done unless debug logging is enabled.
+     */
+    public void logReport() {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+        LOGGER.debug("Table refresh timings: {}", getTimings().entrySet().stream()
+                .sorted(Map.Entry.<Tables, Long>comparingByValue(Comparator.reverseOrder()))
+                .map(entry -> entry.getKey() + " " + entry.getValue() + " ms")
+                .collect(Collectors.joining(", ")));
+
+        PoolMetrics pool = HibernateUtil.getPoolMetrics();
+        if (pool != null) {
+            LOGGER.debug("Connection pool: {} active, {} idle, {} waiting, avg wait {} ms, max wait {} ms",
+                    pool.active(), pool.idle(), pool.waiting(),
+                    String.format("%.2f", pool.averageWaitMillis()), String.format("%.2f", pool.maxWaitMillis()));
+        }
+    }
+}
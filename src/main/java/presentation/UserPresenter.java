@@ -1,8 +1,16 @@
 package presentation;
 
+import data.dependencies.RowSource;
+import data.dependencies.TableData;
 import data.dependencies.UserContract;
+import data.entities.Book;
+import data.entities.Borrowing;
+import utils.BackgroundExecutor;
+import utils.EntityAccessor;
 
-import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /**
  * The UserPresenter class is responsible for managing the interaction between the UserView and UserModel.
@@ -51,40 +59,54 @@ public class UserPresenter implements UserContract.Presenter {
 
     /**
      * Fills the tables in the view with data retrieved from the model.
-     * This method retrieves the data for all titles, available titles, and borrowing history,
-     * and then populates the corresponding tables in the view.
+     * This method retrieves the data for all titles, available titles, and borrowing history
+     * in the background, and then populates the corresponding tables in the view on the Event Dispatch Thread.
      */
     @Override
     public void fillTables() {
-        // Get the data for all titles from the model
-        String[][] allTitlesData = model.getAllTitlesData();
-        String[] allTitlesColumns = allTitlesData[0];  // Extract the column names
-        String[][] allTitlesRows = getDataRows(allTitlesData);  // Extract the data rows (excluding header)
-        view.fillAllTitles(allTitlesColumns, allTitlesRows);  // Fill the all titles table in the view
+        // Read all tables from the model window by window as they are scrolled
+        fillLazily(Book.class, model::getAllTitlesData, model::getAllTitlesCount, view::fillAllTitles);
+        fillLazily(Book.class, model::getAvailableTitlesData, model::getAvailableTitlesCount, view::fillAvailableTitles);
+        fillLazily(Borrowing.class, model::getBorrowingHistoryData, model::getBorrowingHistoryCount,
+                view::fillBorrowingHistory);
+    }
 
-        // Get the data for available titles from the model
-        String[][] availableTitlesData = model.getAvailableTitlesData();
-        String[] availableTitlesColumns = availableTitlesData[0];  // Extract the column names
-        String[][] availableTitlesRows = getDataRows(availableTitlesData);  // Extract the data rows (excluding header)
-        view.fillAvailableTitles(availableTitlesColumns, availableTitlesRows);  // Fill the available titles table in the view
+    /**
+     * Fills a table with a source that reads its rows from the model window by window.
+     * The column names are those of the entity class; the row count is loaded in the background,
+     * and the table is filled on the Event Dispatch Thread once it is known.
+     *
+     * @param entityClass The class of the entities shown in the table
+     * @param window      A function returning the rows of a window, together with their columns
+     * @param count       A supplier of the total number of rows
+     * @param fill        The view method filling the table
+     */
+    private void fillLazily(Class<?> entityClass, BiFunction<Integer, Integer, TableData> window,
+                            Supplier<Integer> count, BiConsumer<String[], RowSource> fill) {
+        String[] names = EntityAccessor.of(entityClass).getColumnNames().toArray(new String[0]);
+        BackgroundExecutor.supply(count)
+                .thenAcceptAsync(rows -> fill.accept(names, new RowSource() {
+                    @Override
+                    public int getRowCount() {
+                        return rows;
+                    }
 
-        // Get the data for borrowing history from the model
-        String[][] borrowingHistoryData = model.getBorrowingHistoryData();
-        String[] borrowingHistoryColumns = borrowingHistoryData[0];  // Extract the column names
-        String[][] borrowingHistoryRows = getDataRows(borrowingHistoryData);  // Extract the data rows (excluding header)
-        view.fillBorrowingHistory(borrowingHistoryColumns, borrowingHistoryRows);  // Fill the borrowing history table in the view
+                    @Override
+                    public TableData getRows(int offset, int limit) {
+                        return window.apply(offset, limit);
+                    }
+                }), BackgroundExecutor.EDT)
+                .exceptionally(this::reportFailure);
     }
 
     /**
-     * Helper method to extract the data rows from the provided 2D data array.
-     * This method skips the first row (header row) and returns the remaining rows of data.
+     * Reports a failure of a background load.
      *
-     * @param data The 2D array of data, where the first row contains the column headers
-     * @return A 2D array containing only the data rows (excluding the header)
+     * @param error the error reported by the background task
+     * @return always null, so it can be used to complete a failed future
      */
-    private String[][] getDataRows(String[][] data) {
-        return Arrays.stream(data)
-                .skip(1)  // Skip the first row (header)
-                .toArray(String[][]::new);  // Convert the stream back to a 2D array
+    private Void reportFailure(Throwable error) {
+        BackgroundExecutor.unwrap(error).printStackTrace();
+        return null;
     }
 }
\ No newline at end of file
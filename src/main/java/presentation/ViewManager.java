@@ -8,6 +8,8 @@ import ui.ModeSelectionView;
 import ui.UserView;
 
 import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * The ViewManager class is responsible for switching between different views (user mode, librarian mode)
@@ -24,6 +26,12 @@ public class ViewManager {
      * Constructor that initializes the ViewManager and switches to the selection view.
      */
     public ViewManager() {
+        mainFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                disposeLibrarianPresenter();  // Stop the librarian presenter before the application exits
+            }
+        });
         switchToSelectionView();  // Start with the mode selection view
     }
 
@@ -52,6 +60,7 @@ public class ViewManager {
      * Switches the current view to the librarian view, initializes the librarian presenter, and sets the librarian model.
      */
     private void switchToLibrarianView() {
+        disposeLibrarianPresenter();  // Replace the presenter of a previous librarian view
         LibrarianView librarianView = new LibrarianView();
         librarianPresenter = new LibrarianPresenter(librarianView, new LibrarianModel());  // Create and initialize the librarian presenter
 
@@ -65,6 +74,9 @@ public class ViewManager {
      * @param newView The new view to be displayed in the main frame
      */
     private void setCurrentView(JPanel newView) {
+        if (currentView != null && librarianPresenter != null && !(newView instanceof LibrarianView)) {
+            disposeLibrarianPresenter();  // The librarian view is no longer shown
+        }
         if (currentView != null) {
             mainFrame.remove(currentView);  // Remove the previous view if it exists
         }
@@ -74,6 +86,16 @@ public class ViewManager {
         mainFrame.repaint();  // Repaint the main frame to reflect the changes
     }
 
+    /**
+     * Disposes the librarian presenter, if there is one, so it stops receiving entity changes.
+     */
+    private void disposeLibrarianPresenter() {
+        if (librarianPresenter != null) {
+            librarianPresenter.dispose();
+            librarianPresenter = null;
+        }
+    }
+
     /**
      * Returns the presenter for the user view.
      *
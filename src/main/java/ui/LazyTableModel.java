@@ -0,0 +1,248 @@
+package ui;
+
+import data.constants.ChangeType;
+import data.dependencies.RowSource;
+import data.dependencies.TableData;
+import utils.BackgroundExecutor;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The LazyTableModel class is a table model that loads its rows from a {@link RowSource} on demand.
+ * Rows are fetched in fixed-size blocks the first time one of their cells is painted, and only a bounded
+ * number of blocks is kept in memory, evicting the least recently used block first.
+ * This keeps memory use constant regardless of the size of the underlying table.
+ * <p>
+ * Blocks are read on a background thread; cells of a block that is still loading are shown empty and
+ * repainted once the block arrives. A block that fails to load is not kept, so it is read again when it is next
+ * displayed. The model itself is only accessed on the Event Dispatch Thread.
+ * Blocks keep the typed values read by the source; a value is only turned into text when its cell is painted.
+ * </p>
+ * <p>
+ * Changes of single entities are applied to the blocks in memory with {@link #applyChange(ChangeType, int, TableData)},
+ * so an edit repaints one row instead of reloading the table. Rows are expected to be ordered by their ID, which is
+ * read from the column named "id".
+ * </p>
+ */
+public class LazyTableModel extends AbstractTableModel {
+    static final int BLOCK_SIZE = RowSource.BLOCK_SIZE;  // Number of rows fetched at once
+    static final int MAX_BLOCKS = 20;                    // Number of blocks kept in memory
+
+    private static final String NULL_TEXT = "null";      // Shown for cells without a value
+
+    private final String[] columns;
+    private final RowSource source;
+    private final int idColumn;  // Index of the ID column, used to locate changed rows
+    private int rowCount;
+    private int version;         // Incremented on every change, so blocks read before a change are read again
+
+    // Loaded blocks by block index, in access order so the eldest entry is the least recently used one
+    private final Map<Integer, TableData> blocks = new LinkedHashMap<>(MAX_BLOCKS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, TableData> eldest) {
+            return size() > MAX_BLOCKS;
+        }
+    };
+
+    // Blocks that are currently being read from the source
+    private final Set<Integer> pendingBlocks = new HashSet<>();
+
+    /**
+     * Constructs a LazyTableModel over the given source.
+     * Only the row count is read up front; rows are loaded when they are first displayed.
+     * Since the row count is read on the calling thread, it should be cheap for the given source.
+     *
+     * @param columns the column names of the table
+     * @param source  the source to read rows from
+     */
+    public LazyTableModel(String[] columns, RowSource source) {
+        this.columns = columns;
+        this.source = source;
+        this.idColumn = Math.max(0, Arrays.asList(columns).indexOf("id"));
+        this.rowCount = source.getRowCount();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return Object.class;
+    }
+
+    /**
+     * Returns the value of a cell, requesting the block that contains its row if it is not in memory.
+     *
+     * @param rowIndex    the row of the cell
+     * @param columnIndex the column of the cell
+     * @return the value of the cell, or null if its block is still loading or the row no longer exists
+     */
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int blockIndex = rowIndex / BLOCK_SIZE;
+        TableData block = blocks.get(blockIndex);
+        if (block == null) {
+            requestBlock(blockIndex);
+            return null;
+        }
+
+        int offset = rowIndex % BLOCK_SIZE;
+        if (offset >= block.getRowCount()) {
+            return null;
+        }
+        Object value = block.getValue(offset, columnIndex);
+        return value != null ? value : NULL_TEXT;
+    }
+
+    /**
+     * Starts loading a block in the background, unless it is already being loaded.
+     * When the block arrives, its rows are stored and repainted.
+     *
+     * @param blockIndex the index of the block to load
+     */
+    private void requestBlock(int blockIndex) {
+        if (!pendingBlocks.add(blockIndex)) {
+            return;
+        }
+
+        int firstRow = blockIndex * BLOCK_SIZE;
+        int requestVersion = version;
+        BackgroundExecutor.supply(() -> source.getRows(firstRow, BLOCK_SIZE))
+                .whenCompleteAsync((rows, error) -> {
+                    pendingBlocks.remove(blockIndex);
+                    if (requestVersion != version) {
+                        // The rows were read before a change was applied and may not contain it
+                        requestBlock(blockIndex);
+                        return;
+                    }
+                    if (error != null) {
+                        // Nothing is stored or repainted, so the block is read again the next time it is displayed
+                        BackgroundExecutor.unwrap(error).printStackTrace();
+                        return;
+                    }
+                    blocks.put(blockIndex, rows);
+                    fireTableRowsUpdated(firstRow, Math.min(firstRow + BLOCK_SIZE, rowCount) - 1);
+                }, BackgroundExecutor.EDT);
+    }
+
+    /**
+     * Applies the change of a single entity to the rows in memory.
+     * Rows that are not in memory are read with the change already applied once they are displayed.
+     *
+     * @param type the kind of change
+     * @param id   the ID of the changed entity
+     * @param row  the new values of the row as a single-row table, or null for a deletion
+     */
+    public void applyChange(ChangeType type, int id, TableData row) {
+        version++;
+        switch (type) {
+            case INSERT -> insertRow(row);
+            case UPDATE -> updateRow(id, row);
+            case DELETE -> deleteRow(id);
+        }
+    }
+
+    /**
+     * Appends a new row. New entities get the highest ID, so they belong at the end of the table.
+     *
+     * @param row the values of the new row
+     */
+    private void insertRow(TableData row) {
+        int rowIndex = rowCount++;
+        int blockIndex = rowIndex / BLOCK_SIZE;
+        TableData block = blocks.get(blockIndex);
+        if (block != null) {
+            if (block.getRowCount() == rowIndex % BLOCK_SIZE) {
+                blocks.put(blockIndex, block.append(row));
+            } else {
+                blocks.remove(blockIndex);
+            }
+        }
+        fireTableRowsInserted(rowIndex, rowIndex);
+    }
+
+    /**
+     * Replaces the values of a row, if it is in memory.
+     *
+     * @param id  the ID of the changed entity
+     * @param row the new values of the row
+     */
+    private void updateRow(int id, TableData row) {
+        int rowIndex = findRow(id);
+        if (rowIndex < 0) {
+            return;
+        }
+        int blockIndex = rowIndex / BLOCK_SIZE;
+        blocks.put(blockIndex, blocks.get(blockIndex).replace(rowIndex % BLOCK_SIZE, row));
+        fireTableRowsUpdated(rowIndex, rowIndex);
+    }
+
+    /**
+     * Removes a row and moves the following rows up by one.
+     * The first row of every following block moves to the end of the block before it; where that row is not
+     * in memory, the shortened block and all blocks after it are dropped and read again when displayed.
+     *
+     * @param id the ID of the deleted entity
+     */
+    private void deleteRow(int id) {
+        int rowIndex = findRow(id);
+        if (rowIndex < 0) {
+            // The position of the row is unknown, so none of the blocks can be trusted
+            blocks.clear();
+            rowCount = Math.max(0, rowCount - 1);
+            fireTableDataChanged();
+            return;
+        }
+
+        int lastBlock = (rowCount - 1) / BLOCK_SIZE;
+        rowCount--;
+        int blockIndex = rowIndex / BLOCK_SIZE;
+        blocks.put(blockIndex, blocks.get(blockIndex).remove(rowIndex % BLOCK_SIZE));
+        for (int index = blockIndex; index < lastBlock; index++) {
+            TableData next = blocks.get(index + 1);
+            if (next == null || next.getRowCount() == 0) {
+                int firstStale = index;
+                blocks.keySet().removeIf(key -> key >= firstStale);
+                break;
+            }
+            blocks.put(index, blocks.get(index).append(next.slice(0, 1)));
+            blocks.put(index + 1, next.remove(0));
+        }
+        fireTableRowsDeleted(rowIndex, rowIndex);
+    }
+
+    /**
+     * Finds the position of the row with the given ID among the blocks in memory.
+     *
+     * @param id the ID to look for
+     * @return the index of the row, or -1 if it is not in memory
+     */
+    private int findRow(int id) {
+        for (Map.Entry<Integer, TableData> entry : blocks.entrySet()) {
+            TableData block = entry.getValue();
+            for (int offset = 0; offset < block.getRowCount(); offset++) {
+                if (block.getInt(offset, idColumn) == id) {
+                    return entry.getKey() * BLOCK_SIZE + offset;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -1,17 +1,23 @@
 package ui;
 
+import data.constants.ChangeType;
 import data.constants.Fonts;
+import data.constants.LoadState;
 import data.constants.Palette;
 import data.constants.Tables;
 import data.dependencies.LibrarianContract;
+import data.dependencies.RowSource;
+import data.dependencies.TableData;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.nio.file.Path;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * The LibrarianView class is a JPanel that provides a graphical interface for the librarian
@@ -28,6 +34,7 @@ public class LibrarianView extends JPanel implements LibrarianContract.View {
     private final JButton insertButton = new JButton();        // Button to insert a new record
     private final JButton deleteButton = new JButton();        // Button to delete a record
     private final JButton updateButton = new JButton();        // Button to update a record
+    private final JButton exportButton = new JButton();        // Button to export the current table to a file
     private final JPanel buttonPanel = new JPanel();           // Panel to hold the buttons
 
     /**
@@ -36,7 +43,7 @@ public class LibrarianView extends JPanel implements LibrarianContract.View {
      */
     public LibrarianView() {
         configure();               // Configure the layout and table panels
-        configureButtons();        // Configure the buttons (Insert, Delete, Update)
+        configureButtons();        // Configure the buttons (Insert, Delete, Update, Export)
         configureButtonPanel();    // Configure the button panel layout
         configureTabbedPane();     // Configure the tabbed pane to switch between tables
         addAll();                  // Add all components to the main panel
@@ -107,7 +114,7 @@ public class LibrarianView extends JPanel implements LibrarianContract.View {
     }
 
     /**
-     * Configures the Insert, Delete, and Update buttons.
+     * Configures the Insert, Delete, Update, and Export buttons.
      * Applies fonts and sets text for each button.
      */
     private void configureButtons() {
@@ -119,17 +126,21 @@ public class LibrarianView extends JPanel implements LibrarianContract.View {
 
         updateButton.setText("Update");
         Fonts.applyToComponent(updateButton, Fonts.BUTTON_FONT);
+
+        exportButton.setText("Export");
+        Fonts.applyToComponent(exportButton, Fonts.BUTTON_FONT);
     }
 
     /**
-     * Configures the layout of the button panel, which contains the Insert, Delete, and Update buttons.
+     * Configures the layout of the button panel, which contains the Insert, Delete, Update, and Export buttons.
      */
     private void configureButtonPanel() {
-        buttonPanel.setLayout(new GridLayout(1, 3, 50, 0));
+        buttonPanel.setLayout(new GridLayout(1, 4, 50, 0));
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 100, 10, 100));
         buttonPanel.add(insertButton);
         buttonPanel.add(deleteButton);
         buttonPanel.add(updateButton);
+        buttonPanel.add(exportButton);
     }
 
     /**
@@ -175,17 +186,86 @@ public class LibrarianView extends JPanel implements LibrarianContract.View {
     }
 
     /**
-     * Updates the table model for the specified table type with the given column names and data rows.
+     * Updates the table model for the specified table type with the given column names and row source.
+     * Rows are loaded lazily by a {@link LazyTableModel} as they are scrolled into view.
      *
      * @param tableType the type of table to update (e.g., BOOK, BORROWING, COPY, etc.)
      * @param columns   the column names to be displayed in the table
-     * @param rows      the data rows to be displayed in the table
+     * @param source    the source of the data rows to be displayed in the table
+     */
+    @Override
+    public void updateTableModel(Tables tableType, String[] columns, RowSource source) {
+        TablePanel tablePanel = tablePanels.get(tableType);
+        if (tablePanel != null) {
+            tablePanel.getTable().setModel(new LazyTableModel(columns, source));
+        } else {
+            throw new IllegalArgumentException("Table type not found: " + tableType);
+        }
+    }
+
+    /**
+     * Shows a filter box above the specified table and passes its text to the listener.
+     *
+     * @param tableType the type of table to filter (e.g., BOOK, MEMBER)
+     * @param listener  the listener receiving the text of the filter box, empty when it is cleared
+     */
+    @Override
+    public void addSearchListener(Tables tableType, Consumer<String> listener) {
+        TablePanel tablePanel = tablePanels.get(tableType);
+        if (tablePanel != null) {
+            tablePanel.addSearchListener(listener);
+        } else {
+            throw new IllegalArgumentException("Table type not found: " + tableType);
+        }
+    }
+
+    /**
+     * Passes the name of a column of the specified table to the listener whenever its header is clicked.
+     *
+     * @param tableType the type of table to sort (e.g., BOOK, MEMBER)
+     * @param listener  the listener receiving the name of the clicked column
+     */
+    @Override
+    public void addSortListener(Tables tableType, Consumer<String> listener) {
+        TablePanel tablePanel = tablePanels.get(tableType);
+        if (tablePanel != null) {
+            tablePanel.addSortListener(listener);
+        } else {
+            throw new IllegalArgumentException("Table type not found: " + tableType);
+        }
+    }
+
+    /**
+     * Applies the change of a single entity to the rows of the specified table.
+     * Only the affected row is repainted; tables that have not been loaded yet are left alone.
+     *
+     * @param tableType the type of table (e.g., BOOK, BORROWING, COPY, etc.)
+     * @param type      the kind of change
+     * @param id        the ID of the changed entity
+     * @param row       the new values of the row as a single-row table, or null for a deletion
+     */
+    @Override
+    public void applyRowChange(Tables tableType, ChangeType type, int id, TableData row) {
+        TablePanel tablePanel = tablePanels.get(tableType);
+        if (tablePanel == null) {
+            throw new IllegalArgumentException("Table type not found: " + tableType);
+        }
+        if (tablePanel.getTable().getModel() instanceof LazyTableModel tableModel) {
+            tableModel.applyChange(type, id, row);
+        }
+    }
+
+    /**
+     * Shows the loading state of the specified table next to its header.
+     *
+     * @param tableType the type of table (e.g., BOOK, BORROWING, COPY, etc.)
+     * @param state     the loading state of the table
      */
     @Override
-    public void updateTableModel(Tables tableType, String[] columns, String[][] rows) {
+    public void setTableState(Tables tableType, LoadState state) {
         TablePanel tablePanel = tablePanels.get(tableType);
         if (tablePanel != null) {
-            tablePanel.getTable().setModel(new DefaultTableModel(rows, columns));
+            tablePanel.setStatus(state.getStatus());
         } else {
             throw new IllegalArgumentException("Table type not found: " + tableType);
         }
@@ -203,6 +283,34 @@ public class LibrarianView extends JPanel implements LibrarianContract.View {
         return JOptionPane.showInputDialog(title, initialValue);
     }
 
+    /**
+     * Creates and displays a file chooser for choosing the file to save to.
+     *
+     * @param title    the title of the file chooser
+     * @param fileName the file name suggested in the file chooser
+     * @return the chosen file, or null if the file chooser was cancelled
+     */
+    @Override
+    public Path createSaveDialog(String title, String fileName) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle(title);
+        fileChooser.setSelectedFile(new File(fileName));
+        return fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION
+                ? fileChooser.getSelectedFile().toPath()
+                : null;
+    }
+
+    /**
+     * Creates and displays an information dialog with a specified message.
+     *
+     * @param title   the title of the dialog
+     * @param message the message to be displayed
+     */
+    @Override
+    public void createMessageDialog(String title, String message) {
+        JOptionPane.showMessageDialog(null, message, title, JOptionPane.INFORMATION_MESSAGE);
+    }
+
     /**
      * Creates and displays an error dialog with a specified message.
      *
@@ -229,11 +337,12 @@ public class LibrarianView extends JPanel implements LibrarianContract.View {
      *
      * @param row    the row index of the cell
      * @param column the column index of the cell
-     * @return the value at the specified cell as a String
+     * @return the value at the specified cell as a String, or an empty string if the row is still loading
      */
     @Override
     public String getValueAt(int row, int column) {
-        return tablePanels.get(currentTable).getTable().getValueAt(row, column).toString();
+        Object value = tablePanels.get(currentTable).getTable().getValueAt(row, column);
+        return value != null ? value.toString() : "";
     }
 
     /**
@@ -316,4 +425,14 @@ public class LibrarianView extends JPanel implements LibrarianContract.View {
     public void addUpdateButtonListener(ActionListener listener) {
         updateButton.addActionListener(listener);
     }
+
+    /**
+     * Adds a listener to the export button to handle export actions.
+     *
+     * @param listener the ActionListener to be added to the export button
+     */
+    @Override
+    public void addExportButtonListener(ActionListener listener) {
+        exportButton.addActionListener(listener);
+    }
 }
\ No newline at end of file
@@ -3,16 +3,25 @@ package ui;
 import data.constants.Fonts;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.Consumer;
 
 /**
  * The TablePanel class is a custom JPanel that provides a labeled table
  * with a scrollable view. It is used to display tabular data with a header label.
  */
 public class TablePanel extends JPanel {
+    private static final int SEARCH_DELAY_MILLIS = 250; // Pause in typing after which the filter is applied
+
+    private final JPanel header = new JPanel(new BorderLayout()); // The label and the optional filter box
     private final JLabel label = new JLabel(); // The label displayed above the table
     private final JScrollPane scrollPane = new JScrollPane(); // Scrollable view for the table
     private final JTable table = new JTable(); // The table component to display data
+    private final String headerText; // The text of the header label without any status
 
     /**
      * Constructs a TablePanel with the specified header text.
@@ -20,6 +29,7 @@ public class TablePanel extends JPanel {
      * @param headerText the text to display in the header label
      */
     public TablePanel(String headerText) {
+        this.headerText = headerText;
         configure();
         configureLabel(headerText);
         configureTable();
@@ -67,10 +77,72 @@ public class TablePanel extends JPanel {
      * The label is positioned at the top, and the scroll pane is in the center.
      */
     private void addAll() {
-        add(label, BorderLayout.NORTH);
+        header.add(label, BorderLayout.CENTER);
+        add(header, BorderLayout.NORTH);
         add(scrollPane, BorderLayout.CENTER);
     }
 
+    /**
+     * Shows a filter box next to the header and passes its text to the listener whenever the user stops typing.
+     * An empty text means that the filter has been cleared.
+     *
+     * @param listener the listener receiving the text of the filter box
+     */
+    public void addSearchListener(Consumer<String> listener) {
+        JTextField searchField = new JTextField(20);
+        searchField.setToolTipText("Filter, such as \"title ~ gatsby and publicationYear >= 1950\"");
+        Fonts.applyToComponent(searchField, Fonts.BODY_FONT);
+
+        // Restarted on every keystroke, so only the final text of a burst of typing is searched
+        Timer timer = new Timer(SEARCH_DELAY_MILLIS, _ -> listener.accept(searchField.getText().trim()));
+        timer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+        });
+
+        header.add(searchField, BorderLayout.EAST);
+        header.revalidate();
+    }
+
+    /**
+     * Passes the name of a column to the listener whenever its header is clicked.
+     *
+     * @param listener the listener receiving the name of the clicked column
+     */
+    public void addSortListener(Consumer<String> listener) {
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.columnAtPoint(e.getPoint());
+                if (column != -1) {
+                    listener.accept(table.getModel().getColumnName(table.convertColumnIndexToModel(column)));
+                }
+            }
+        });
+    }
+
+    /**
+     * Shows a status text next to the header text, such as the loading state of the table.
+     *
+     * @param status the status to show, or an empty string to show only the header text
+     */
+    public void setStatus(String status) {
+        label.setText(status.isEmpty() ? headerText : headerText + " (" + status + ")");
+    }
+
     /**
      * Gets the JTable component for this TablePanel.
      * This allows external classes to access and manipulate the table directly.
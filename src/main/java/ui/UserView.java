@@ -2,11 +2,11 @@ package ui;
 
 import data.constants.Fonts;
 import data.constants.Palette;
+import data.dependencies.RowSource;
 import data.dependencies.UserContract;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.function.Consumer;
 
@@ -145,32 +145,32 @@ public class UserView extends JPanel implements UserContract.View {
      * Fills the "All Titles" table with data.
      *
      * @param columns the column headers for the table
-     * @param data    the data to populate the table
+     * @param source  the source of the rows to populate the table
      */
     @Override
-    public void fillAllTitles(String[] columns, String[][] data) {
-        allTiles.getTable().setModel(new DefaultTableModel(data, columns));
+    public void fillAllTitles(String[] columns, RowSource source) {
+        allTiles.getTable().setModel(new LazyTableModel(columns, source));
     }
 
     /**
      * Fills the "Available Titles" table with data.
      *
      * @param columns the column headers for the table
-     * @param data    the data to populate the table
+     * @param source  the source of the rows to populate the table
      */
     @Override
-    public void fillAvailableTitles(String[] columns, String[][] data) {
-        availableTiles.getTable().setModel(new DefaultTableModel(data, columns));
+    public void fillAvailableTitles(String[] columns, RowSource source) {
+        availableTiles.getTable().setModel(new LazyTableModel(columns, source));
     }
 
     /**
      * Fills the "Borrowing History" table with data.
      *
      * @param columns the column headers for the table
-     * @param data    the data to populate the table
+     * @param source  the source of the rows to populate the table
      */
     @Override
-    public void fillBorrowingHistory(String[] columns, String[][] data) {
-        borrowingHistory.getTable().setModel(new DefaultTableModel(data, columns));
+    public void fillBorrowingHistory(String[] columns, RowSource source) {
+        borrowingHistory.getTable().setModel(new LazyTableModel(columns, source));
     }
 }
\ No newline at end of file
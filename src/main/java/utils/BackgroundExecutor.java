@@ -0,0 +1,67 @@
+package utils;
+
+import javax.swing.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Utility class for running database work off the Swing Event Dispatch Thread (EDT).
+ * <p>
+ * Tasks are executed on virtual threads and exposed as {@link CompletableFuture}s. Results that have to
+ * touch Swing components should be handed back through {@link #EDT}, which dispatches continuations
+ * with {@link SwingUtilities#invokeLater(Runnable)}.
+ * </p>
+ */
+public class BackgroundExecutor {
+
+    // Every task gets its own virtual thread, so blocking JDBC calls never starve the pool
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Executor that runs continuations on the Event Dispatch Thread.
+     */
+    public static final Executor EDT = SwingUtilities::invokeLater;
+
+    private BackgroundExecutor() {}
+
+    /**
+     * Runs the given task on a virtual thread.
+     *
+     * @param task the task producing a result
+     * @param <T>  the type of the result
+     * @return a future completed with the result of the task
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Runs the given task on a virtual thread.
+     *
+     * @param task the task to run
+     * @return a future completed when the task has finished
+     */
+    public static CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    /**
+     * Returns the original cause of a failure reported by a future, unwrapping completion wrappers.
+     *
+     * @param error the error reported by the future
+     * @return the underlying cause
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,36 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timings of the phases of building a SessionFactory.
+ *
+ * @param configuration       the Hibernate configuration file the SessionFactory was built from
+ * @param metadataNanos       the time spent reading the configuration and building the mapping metadata
+ * @param sessionFactoryNanos the time spent building the SessionFactory, including the schema update
+ *                            and the start of the connection pool
+ * @param connectionNanos     the time spent obtaining and checking the first connection
+ */
+public record BootstrapReport(String configuration, long metadataNanos, long sessionFactoryNanos, long connectionNanos) {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BootstrapReport.class);
+
+    /**
+     * Returns the time spent on the whole build.
+     *
+     * @return the total time in nanoseconds
+     */
+    public long totalNanos() {
+        return metadataNanos + sessionFactoryNanos + connectionNanos;
+    }
+
+    /**
+     * Logs the time spent in each phase at debug level.
+     */
+    public void log() {
+        LOGGER.debug("SessionFactory bootstrap ({}): metadata {} ms, schema/factory {} ms, first connection {} ms, total {} ms",
+                configuration, metadataNanos / 1_000_000, sessionFactoryNanos / 1_000_000,
+                connectionNanos / 1_000_000, totalNanos() / 1_000_000);
+    }
+}
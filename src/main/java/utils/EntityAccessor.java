@@ -0,0 +1,207 @@
+package utils;
+
+import data.annotations.Display;
+import data.dependencies.TableData;
+import jakarta.persistence.Entity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled read access to the {@link Display} fields of an entity class.
+ * <p>
+ * The fields of each entity class are resolved once, the first time the class is requested, and turned
+ * into {@link MethodHandle} getters. Mapping entities to table rows then only invokes these handles instead
+ * of looking up and unlocking a {@link Field} for every cell.
+ * </p>
+ * <p>
+ * Integer fields and references to other entities become {@link TableData.ColumnType#INTEGER} columns, read
+ * without boxing; a reference is shown as the ID of the referenced entity. All other fields become text columns.
+ * </p>
+ *
+ * @param <T> the type of the entity
+ */
+public final class EntityAccessor<T> {
+
+    // One accessor per entity class, shared by every model
+    private static final Map<Class<?>, EntityAccessor<?>> REGISTRY = new ConcurrentHashMap<>();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType INT_GETTER_TYPE = MethodType.methodType(int.class, Object.class);
+
+    private final Class<T> entityClass;
+    private final List<String> columnNames;
+    private final TableData.Column[] columns;
+    private final MethodHandle[] getters;     // Typed (Object) Object for every column
+    private final MethodHandle[] intGetters;  // Typed (Object) int for integer fields, null for other columns
+    private final MethodHandle[] idGetters;   // Typed (Object) int for the getId() of references, null for other columns
+
+    private EntityAccessor(Class<T> entityClass) {
+        this.entityClass = entityClass;
+
+        List<String> names = new ArrayList<>();
+        List<TableData.Column> columns = new ArrayList<>();
+        List<MethodHandle> handles = new ArrayList<>();
+        List<MethodHandle> intHandles = new ArrayList<>();
+        List<MethodHandle> idHandles = new ArrayList<>();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+            for (Field field : entityClass.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(Display.class)) {
+                    continue;
+                }
+
+                Class<?> type = field.getType();
+                MethodHandle getter = lookup.unreflectGetter(field);
+                names.add(field.getName());
+                handles.add(getter.asType(GETTER_TYPE));
+                intHandles.add(type == int.class ? getter.asType(INT_GETTER_TYPE) : null);
+                // Referenced entities are read through getId(), which also works on uninitialized proxies
+                idHandles.add(type.isAnnotationPresent(Entity.class)
+                        ? MethodHandles.publicLookup()
+                                .findVirtual(type, "getId", MethodType.methodType(int.class))
+                                .asType(INT_GETTER_TYPE)
+                        : null);
+                boolean integer = type == int.class || type == Integer.class || type.isAnnotationPresent(Entity.class);
+                columns.add(new TableData.Column(field.getName(),
+                        integer ? TableData.ColumnType.INTEGER : TableData.ColumnType.TEXT));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access fields of " + entityClass.getSimpleName(), e);
+        }
+
+        this.columnNames = Collections.unmodifiableList(names);
+        this.columns = columns.toArray(new TableData.Column[0]);
+        this.getters = handles.toArray(new MethodHandle[0]);
+        this.intGetters = intHandles.toArray(new MethodHandle[0]);
+        this.idGetters = idHandles.toArray(new MethodHandle[0]);
+    }
+
+    /**
+     * Returns the accessor for the given entity class, building it on first use.
+     *
+     * @param entityClass the class of the entity
+     * @param <T>         the type of the entity
+     * @return the shared accessor for the entity class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityAccessor<T> of(Class<T> entityClass) {
+        return (EntityAccessor<T>) REGISTRY.computeIfAbsent(entityClass, EntityAccessor::new);
+    }
+
+    /**
+     * Returns the class of the entity handled by this accessor.
+     *
+     * @return the entity class
+     */
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Returns the names of the {@link Display} fields, in declaration order.
+     *
+     * @return the column names of the entity
+     */
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * Reads the value of a single cell from the given entity, as it is shown in the tables.
+     *
+     * @param entity the entity to read from
+     * @param column the index of the column, as in {@link #getColumnNames()}
+     * @return an Integer for integer columns, where a reference is read as the ID of the referenced entity,
+     *         a String for text columns, or null if the field holds no value
+     */
+    public Object getCellValue(T entity, int column) {
+        try {
+            if (intGetters[column] != null) {
+                return (int) intGetters[column].invokeExact((Object) entity);
+            }
+
+            Object value = (Object) getters[column].invokeExact((Object) entity);
+            if (value == null || value instanceof Integer) {
+                return value;
+            } else if (idGetters[column] != null) {
+                return (int) idGetters[column].invokeExact(value);
+            }
+            return value.toString();
+        } catch (Throwable e) {
+            throw new RuntimeException("Error accessing field: " + columnNames.get(column), e);
+        }
+    }
+
+    /**
+     * Returns the descriptors of the {@link Display} fields, in declaration order.
+     *
+     * @return a new array with the columns of the entity
+     */
+    public TableData.Column[] getColumns() {
+        return columns.clone();
+    }
+
+    /**
+     * Converts the given entity into a table with a single row.
+     *
+     * @param entity the entity to convert
+     * @return the values of the entity, one per column
+     */
+    public TableData toRow(T entity) {
+        return toTable(List.of(entity));
+    }
+
+    /**
+     * Maps the given entities to the rows of a table, with the column descriptors of the entity class.
+     *
+     * @param entities the entities to map
+     * @return the table with one row per entity
+     */
+    public TableData toTable(List<? extends T> entities) {
+        TableData.Builder builder = TableData.builder(columns, entities.size());
+        for (T entity : entities) {
+            builder.nextRow();
+            for (int column = 0; column < getters.length; column++) {
+                readCell(builder, entity, column);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads one field of an entity into the current row of a builder.
+     *
+     * @param builder the builder to write to
+     * @param entity  the entity to read from
+     * @param column  the index of the column
+     */
+    private void readCell(TableData.Builder builder, T entity, int column) {
+        try {
+            if (intGetters[column] != null) {
+                builder.setInt(column, (int) intGetters[column].invokeExact((Object) entity));
+                return;
+            }
+
+            Object value = (Object) getters[column].invokeExact((Object) entity);
+            if (value == null) {
+                builder.setNull(column);
+            } else if (idGetters[column] != null) {
+                builder.setInt(column, (int) idGetters[column].invokeExact(value));
+            } else if (value instanceof Integer integer) {
+                builder.setInt(column, integer);
+            } else {
+                builder.setText(column, value.toString());
+            }
+        } catch (Throwable e) {
+            throw new RuntimeException("Error accessing field: " + columnNames.get(column), e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package utils;
+
+import data.dao.DAO;
+import data.dao.DAOFactory;
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Temporal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled write access to the fields of an entity class, turning entered values into field values.
+ * <p>
+ * The fields of each entity class are resolved once, the first time the class is requested. Every field of a
+ * supported type gets a {@link MethodHandle} setter and a converter from its entered text: integers are parsed,
+ * dates are read in ISO format ({@code yyyy-MM-dd}) and foreign keys are resolved to the referenced entity.
+ * Binding values onto an entity then only runs these converters and setters, after checking the values with the
+ * {@link EntityValidator} of the class.
+ * </p>
+ *
+ * @param <T> the type of the entity
+ */
+public final class EntityBinder<T> {
+
+    // One binder per entity class, shared by every model
+    private static final Map<Class<?>, EntityBinder<?>> REGISTRY = new ConcurrentHashMap<>();
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // Immutable, so a single instance is safely shared by every thread
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    // How a missing value is displayed in the tables; it is read back as no value
+    private static final String NULL_TEXT = "null";
+
+    private final Class<T> entityClass;
+    private final EntityValidator<T> validator;
+    private final Binding[] bindings;
+    private final Binding[] generatedDates;  // Required dates set to the current date when they are not entered
+
+    private EntityBinder(Class<T> entityClass) {
+        this.entityClass = entityClass;
+        this.validator = EntityValidator.of(entityClass);
+
+        List<Binding> bindings = new ArrayList<>();
+        List<Binding> generatedDates = new ArrayList<>();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+            for (Field field : entityClass.getDeclaredFields()) {
+                Converter converter = converterFor(field);
+                if (converter == null) {
+                    continue;
+                }
+
+                Binding binding = new Binding(field.getName(), lookup.unreflectSetter(field).asType(SETTER_TYPE), converter);
+                bindings.add(binding);
+                if (field.isAnnotationPresent(Temporal.class) && !isNullable(field)) {
+                    generatedDates.add(binding);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access fields of " + entityClass.getSimpleName(), e);
+        }
+
+        this.bindings = bindings.toArray(new Binding[0]);
+        this.generatedDates = generatedDates.toArray(new Binding[0]);
+    }
+
+    /**
+     * Returns the binder for the given entity class, building it on first use.
+     *
+     * @param entityClass the class of the entity
+     * @param <T>         the type of the entity
+     * @return the shared binder for the entity class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityBinder<T> of(Class<T> entityClass) {
+        return (EntityBinder<T>) REGISTRY.computeIfAbsent(entityClass, EntityBinder::new);
+    }
+
+    /**
+     * Creates a new entity from the given values.
+     * Required dates that are not among the values, such as the date of a borrowing, are set to the current date.
+     *
+     * @param fieldData the values by field name
+     * @return the new, not yet persisted entity
+     * @throws ValidationException if any of the values is invalid
+     * @throws RuntimeException    if a value cannot be converted to the type of its field
+     */
+    public T create(Map<String, Object> fieldData) {
+        validator.check(fieldData);
+
+        T entity;
+        try {
+            entity = entityClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + entityClass.getSimpleName(), e);
+        }
+
+        for (Binding binding : generatedDates) {
+            if (!fieldData.containsKey(binding.name())) {
+                set(entity, binding, new Date());
+            }
+        }
+        bindValues(entity, fieldData);
+        return entity;
+    }
+
+    /**
+     * Sets the given values on an existing entity. Fields that are not among the values are left unchanged.
+     *
+     * @param entity    the entity to update
+     * @param fieldData the values by field name
+     * @throws ValidationException if any of the values is invalid
+     * @throws RuntimeException    if a value cannot be converted to the type of its field
+     */
+    public void bind(T entity, Map<String, Object> fieldData) {
+        validator.check(fieldData);
+        bindValues(entity, fieldData);
+    }
+
+    private void bindValues(T entity, Map<String, Object> fieldData) {
+        for (Binding binding : bindings) {
+            if (!fieldData.containsKey(binding.name())) {
+                continue;
+            }
+
+            Object value = fieldData.get(binding.name());
+            Object converted;
+            try {
+                converted = value != null ? binding.converter().convert(value.toString()) : null;
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Error setting field " + binding.name(), e);
+            }
+            set(entity, binding, converted);
+        }
+    }
+
+    private static void set(Object entity, Binding binding, Object value) {
+        try {
+            binding.setter().invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw new RuntimeException("Error setting field " + binding.name(), e);
+        }
+    }
+
+    /**
+     * Returns the converter from entered text to the type of a field.
+     *
+     * @param field the field to convert values for
+     * @return the converter, or null if values of the field cannot be entered
+     */
+    private static Converter converterFor(Field field) {
+        Class<?> type = field.getType();
+        if (field.isAnnotationPresent(JoinColumn.class)) {
+            DAO<?> referencedDAO = DAOFactory.getDAO(type);
+            return text -> isBlank(text) ? null : referencedDAO.getCachedById(Integer.parseInt(text.trim()));
+        } else if (type == int.class || type == Integer.class) {
+            return Integer::parseInt;
+        } else if (type == String.class) {
+            return text -> text;
+        } else if (type == Date.class) {
+            return text -> isBlank(text) ? null : java.sql.Date.valueOf(LocalDate.parse(text.trim(), DATE_FORMAT));
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String text) {
+        return text.isBlank() || text.equals(NULL_TEXT);
+    }
+
+    /**
+     * Checks if a field is nullable based on its annotations.
+     *
+     * @param field the field to check
+     * @return true if the field is nullable, false otherwise
+     */
+    private static boolean isNullable(Field field) {
+        Column columnAnnotation = field.getAnnotation(Column.class);
+        return columnAnnotation != null && columnAnnotation.nullable();
+    }
+
+    /**
+     * Converts the entered text of a field to the value stored in it.
+     */
+    @FunctionalInterface
+    private interface Converter {
+        Object convert(String text);
+    }
+
+    /**
+     * The setter and converter of a single field.
+     *
+     * @param name      the name of the field
+     * @param setter    the setter, typed {@code (Object, Object) void}
+     * @param converter the converter from entered text
+     */
+    private record Binding(String name, MethodHandle setter, Converter converter) {
+    }
+}
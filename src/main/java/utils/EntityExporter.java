@@ -0,0 +1,165 @@
+package utils;
+
+import data.constants.ExportFormat;
+import data.dao.DAO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes all entities of a class to a file, as CSV or JSON Lines.
+ * <p>
+ * The entities are read through the cursor of {@link DAO#scrollAll} and each row is written as soon as it is read,
+ * so no more than one block of rows is held in memory, however large the table is. The text goes through a buffer
+ * of {@value #BUFFER_SIZE} characters into a {@link FileChannel}, so the file is written in large blocks.
+ * </p>
+ * <p>
+ * The columns are the {@link data.annotations.Display} fields of the entity, as in the tables; references to other
+ * entities are written as their IDs. Integers are written as numbers, other values as text, and missing values
+ * as empty CSV fields or JSON nulls.
+ * </p>
+ *
+ * @param <T> the type of the exported entities
+ */
+public final class EntityExporter<T> {
+
+    private static final int BUFFER_SIZE = 1 << 16;  // Characters collected before they are written to the file
+
+    private final EntityAccessor<T> accessor;
+    private final ExportFormat format;
+    private final String[] columnNames;
+
+    /**
+     * Constructs an exporter writing entities of the given class in the given format.
+     *
+     * @param entityClass the class of the exported entities
+     * @param format      the format of the file
+     */
+    public EntityExporter(Class<T> entityClass, ExportFormat format) {
+        this.accessor = EntityAccessor.of(entityClass);
+        this.format = format;
+        this.columnNames = accessor.getColumnNames().toArray(new String[0]);
+    }
+
+    /**
+     * Writes every entity read by the given DAO to a file, replacing its contents.
+     *
+     * @param dao  the DAO reading the entities
+     * @param file the file to write
+     * @return the number of exported entities
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public long export(DAO<T> dao, Path file) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            if (format == ExportFormat.CSV) {
+                writeCsvHeader(writer);
+            }
+            long count = dao.scrollAll(entity -> {
+                try {
+                    writeRow(writer, entity);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export to " + file, e);
+        }
+    }
+
+    private void writeCsvHeader(Writer writer) throws IOException {
+        for (int column = 0; column < columnNames.length; column++) {
+            if (column > 0) {
+                writer.write(',');
+            }
+            writeCsvText(writer, columnNames[column]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeRow(Writer writer, T entity) throws IOException {
+        if (format == ExportFormat.CSV) {
+            for (int column = 0; column < columnNames.length; column++) {
+                if (column > 0) {
+                    writer.write(',');
+                }
+                Object value = accessor.getCellValue(entity, column);
+                if (value instanceof String text) {
+                    writeCsvText(writer, text);
+                } else if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        } else {
+            writer.write('{');
+            for (int column = 0; column < columnNames.length; column++) {
+                if (column > 0) {
+                    writer.write(',');
+                }
+                writeJsonText(writer, columnNames[column]);
+                writer.write(':');
+                Object value = accessor.getCellValue(entity, column);
+                if (value instanceof String text) {
+                    writeJsonText(writer, text);
+                } else {
+                    writer.write(String.valueOf(value));
+                }
+            }
+            writer.write("}\n");
+        }
+    }
+
+    /**
+     * Writes a CSV field, quoted if it contains a separator, a quote or a line break.
+     */
+    private static void writeCsvText(Writer writer, String text) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            char c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quoted) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Writes a JSON string, escaping quotes, backslashes and control characters.
+     */
+    private static void writeJsonText(Writer writer, String text) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,140 @@
+package utils;
+
+import data.annotations.MatchPattern;
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Precompiled validation rules for the fields of an entity class.
+ * <p>
+ * The rules of each entity class are resolved once, the first time the class is requested: every field
+ * gets a flag telling whether it may be empty and, if it is annotated with {@link MatchPattern}, a compiled
+ * {@link Pattern}. Validating field values then only runs these rules, instead of reading the annotations
+ * and compiling the regular expression again for every value.
+ * </p>
+ *
+ * @param <T> the type of the entity
+ */
+public final class EntityValidator<T> {
+
+    // One validator per entity class, shared by every model
+    private static final Map<Class<?>, EntityValidator<?>> REGISTRY = new ConcurrentHashMap<>();
+
+    // How a missing reference is displayed in the tables; it is read back as no value
+    private static final String NULL_TEXT = "null";
+
+    private final List<Rule> rules;
+
+    private EntityValidator(Class<T> entityClass) {
+        List<Rule> rules = new ArrayList<>();
+        for (Field field : entityClass.getDeclaredFields()) {
+            MatchPattern matchPattern = field.getAnnotation(MatchPattern.class);
+            rules.add(new Rule(
+                    field.getName(),
+                    isNullable(field),
+                    field.isAnnotationPresent(JoinColumn.class),
+                    matchPattern != null ? Pattern.compile(matchPattern.value()) : null
+            ));
+        }
+        this.rules = List.copyOf(rules);
+    }
+
+    /**
+     * Returns the validator for the given entity class, building it on first use.
+     *
+     * @param entityClass the class of the entity
+     * @param <T>         the type of the entity
+     * @return the shared validator for the entity class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityValidator<T> of(Class<T> entityClass) {
+        return (EntityValidator<T>) REGISTRY.computeIfAbsent(entityClass, EntityValidator::new);
+    }
+
+    /**
+     * Validates the given field values in one pass and collects every error.
+     * Only fields present in the map are checked, so the same rules serve inserts and partial updates.
+     *
+     * @param fieldData the values by field name
+     * @return the validation errors, in field declaration order; empty if all values are valid
+     */
+    public List<String> validate(Map<String, Object> fieldData) {
+        List<String> errors = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (!fieldData.containsKey(rule.name())) {
+                continue;
+            }
+
+            Object value = fieldData.get(rule.name());
+            if (!rule.nullable() && isEmpty(rule, value)) {
+                errors.add("Field " + rule.name() + " cannot be null or empty.");
+            } else if (rule.pattern() != null && value != null && !rule.pattern().matcher(value.toString()).matches()) {
+                errors.add(String.format("Field '%s' must match the pattern: %s", rule.name(), rule.pattern().pattern()));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Validates the given field values and fails with all errors found.
+     *
+     * @param fieldData the values by field name
+     * @throws ValidationException if any value is invalid
+     */
+    public void check(Map<String, Object> fieldData) {
+        List<String> errors = validate(fieldData);
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+    }
+
+    /**
+     * Checks if an entered value stands for no value. A reference entered as "null" is also empty,
+     * since that is how a missing reference is shown in the tables.
+     *
+     * @param rule  the rule of the field
+     * @param value the entered value
+     * @return true if the value is missing
+     */
+    private static boolean isEmpty(Rule rule, Object value) {
+        if (value == null) {
+            return true;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() || (rule.reference() && text.equals(NULL_TEXT));
+    }
+
+    /**
+     * Checks if a field is nullable based on its annotations.
+     * A reference to another entity is nullable as declared by its {@link JoinColumn}.
+     *
+     * @param field the field to check
+     * @return true if the field is nullable, false otherwise
+     */
+    private static boolean isNullable(Field field) {
+        JoinColumn joinColumnAnnotation = field.getAnnotation(JoinColumn.class);
+        if (joinColumnAnnotation != null) {
+            return joinColumnAnnotation.nullable();
+        }
+        Column columnAnnotation = field.getAnnotation(Column.class);
+        return columnAnnotation != null && columnAnnotation.nullable();
+    }
+
+    /**
+     * The validation rule of a single field.
+     *
+     * @param name     the name of the field
+     * @param nullable  whether the field may be left empty
+     * @param reference whether the field references another entity by its ID
+     * @param pattern   the pattern the value must match, or null if any value is accepted
+     */
+    private record Rule(String name, boolean nullable, boolean reference, Pattern pattern) {
+    }
+}
@@ -1,84 +1,203 @@
 package utils;
 
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.cfg.Configuration;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for managing the Hibernate SessionFactory.
  * <p>
  * This class encapsulates the configuration and lifecycle management of Hibernate's
  * SessionFactory, which is used to create and manage Hibernate sessions for database
- * interaction. It ensures that the SessionFactory is initialized once and reused throughout
- * the application. It also provides a method to gracefully shut down the SessionFactory.
+ * interaction. There is one SessionFactory per configuration profile (production and test);
+ * each is built once, on first use, and reused throughout the application. A profile that is
+ * never used is never built, so production runs do not pay for the test database.
+ * </p>
+ * <p>
+ * Building a SessionFactory takes long enough to be noticeable, so the application starts it in the
+ * background with {@link #startBootstrap()} while the first window is shown. It also provides a method
+ * to gracefully shut down the SessionFactory.
  * </p>
  */
 public class HibernateUtil {
 
-    // A singleton SessionFactory instance that is initialized once.
-    private static final SessionFactory sessionFactory = buildSessionFactory();
-    private static final SessionFactory testSessionFactory = buildTestSessionFactory();
+    /**
+     * The configuration profiles, each with its own Hibernate configuration file and database.
+     */
+    private enum Profile {
+        PRODUCTION("hibernate.cfg.xml"),
+        TEST("hibernate-test.cfg.xml");
+
+        private final String resource;
+
+        Profile(String resource) {
+            this.resource = resource;
+        }
+    }
+
+    // The SessionFactory of every profile that has been requested, completed once it is built
+    private static final Map<Profile, CompletableFuture<Bootstrap>> bootstraps = new ConcurrentHashMap<>();
+
+    private static volatile boolean testMode = false;
 
-    private static boolean testMode = false;
+    private static final String BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+    private static final int DEFAULT_BATCH_SIZE = 50;
 
     private HibernateUtil() {}
+
+    /**
+     * Starts building the SessionFactory of the current profile in the background, unless it has been started already.
+     * <p>
+     * Callers of {@link #getSessionFactory()} wait for this build instead of starting their own,
+     * so calling this early hides the bootstrap time behind whatever the application does meanwhile.
+     * </p>
+     *
+     * @return a future completed with the timings of the build once the SessionFactory is ready
+     */
+    public static CompletableFuture<BootstrapReport> startBootstrap() {
+        return bootstrap(currentProfile()).thenApply(Bootstrap::report);
+    }
+
     /**
-     * Builds the SessionFactory from the Hibernate configuration file.
+     * Provides access to the SessionFactory of the current profile.
      * <p>
-     * This method reads the Hibernate configuration file (hibernate.cfg.xml) and uses
-     * it to create the SessionFactory. If the configuration or SessionFactory creation
-     * fails, it throws an ExceptionInInitializerError.
+     * This method returns the initialized SessionFactory, which can be used to open
+     * sessions for interacting with the database. If the SessionFactory is still being built,
+     * this method waits for it; if it has not been requested before, it is built now.
      * </p>
      *
      * @return the SessionFactory instance
-     * @throws ExceptionInInitializerError if the SessionFactory creation fails
+     * @throws IllegalStateException if the SessionFactory creation failed
      */
-    private static SessionFactory buildSessionFactory() {
+    public static SessionFactory getSessionFactory() {
         try {
-            // Configures and builds the SessionFactory from hibernate.cfg.xml
-            return new Configuration().configure("hibernate.cfg.xml").buildSessionFactory();
-        } catch (Throwable ex) {
-            // Logs the error and throws an exception to indicate failure
-            System.err.println("SessionFactory creation failed: " + ex.getMessage());
-            throw new ExceptionInInitializerError("Failed to create SessionFactory: " + ex);
+            return bootstrap(currentProfile()).join().sessionFactory();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("SessionFactory is not available", BackgroundExecutor.unwrap(e));
         }
     }
 
-    private static SessionFactory buildTestSessionFactory() {
-        try {
-            // Configures and builds the SessionFactory from hibernate.cfg.xml
-            return new Configuration().configure("hibernate-test.cfg.xml").buildSessionFactory();
-        } catch (Throwable ex) {
-            // Logs the error and throws an exception to indicate failure
-            System.err.println("SessionFactory creation failed: " + ex.getMessage());
-            throw new ExceptionInInitializerError("Failed to create SessionFactory: " + ex);
-        }
+    /**
+     * Returns the JDBC batch size configured for the current SessionFactory.
+     * <p>
+     * The value is read from the {@code hibernate.jdbc.batch_size} property of the Hibernate configuration
+     * and is used by the bulk DAO operations. If the property is not set, {@value #DEFAULT_BATCH_SIZE} is used.
+     * </p>
+     *
+     * @return the number of statements sent to the database per batch
+     */
+    public static int getBatchSize() {
+        Object batchSize = getSessionFactory().getProperties().get(BATCH_SIZE_PROPERTY);
+        return batchSize != null ? Integer.parseInt(batchSize.toString()) : DEFAULT_BATCH_SIZE;
     }
 
     /**
-     * Provides access to the singleton SessionFactory instance.
+     * Returns the state of the connection pool of the current SessionFactory.
      * <p>
-     * This method returns the initialized SessionFactory, which can be used to open
-     * sessions for interacting with the database.
+     * The pool is only metered when the configuration uses {@link MeteredConnectionProvider} as its
+     * {@code hibernate.connection.provider_class}.
      * </p>
      *
-     * @return the SessionFactory instance
+     * @return the metrics of the pool, or null if the connection provider is not metered
      */
-    public static SessionFactory getSessionFactory() {
-        return testMode ? testSessionFactory : sessionFactory;
+    public static PoolMetrics getPoolMetrics() {
+        ConnectionProvider provider = getSessionFactory().unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(ConnectionProvider.class);
+        return provider instanceof MeteredConnectionProvider metered ? metered.getMetrics() : null;
     }
 
     public static void setTestMode(boolean testMode) {
         HibernateUtil.testMode = testMode;
     }
+
     /**
-     * Shuts down the SessionFactory and releases resources.
+     * Shuts down the SessionFactories and releases resources.
      * <p>
      * This method should be called when the application is shutting down to properly
-     * close the SessionFactory and release any resources it is holding.
+     * close every SessionFactory that has been built and release any resources it is holding.
+     * A SessionFactory that is still being built is closed as soon as it is ready.
      * </p>
      */
     public static void shutdown() {
-        // Closes the SessionFactory and releases any resources
-        getSessionFactory().close();
+        // Closes the SessionFactories and releases any resources
+        bootstraps.values().forEach(bootstrap -> bootstrap.thenAccept(built -> built.sessionFactory().close()));
+        bootstraps.clear();
+    }
+
+    private static Profile currentProfile() {
+        return testMode ? Profile.TEST : Profile.PRODUCTION;
+    }
+
+    /**
+     * Returns the build of the SessionFactory of a profile, starting it in the background on the first call.
+     * A failed build is not kept, so the next call starts a new one instead of failing forever.
+     *
+     * @param profile the profile to build the SessionFactory for
+     * @return a future completed once the SessionFactory is built
+     */
+    private static CompletableFuture<Bootstrap> bootstrap(Profile profile) {
+        return bootstraps.compute(profile, (p, bootstrap) -> bootstrap != null && !bootstrap.isCompletedExceptionally()
+                ? bootstrap
+                : BackgroundExecutor.supply(() -> buildSessionFactory(p)));
+    }
+
+    /**
+     * Builds the SessionFactory from the Hibernate configuration file of a profile, timing each phase.
+     * <p>
+     * The mapping metadata is built first, then the SessionFactory, which also brings the schema up to date
+     * and starts the connection pool. Finally, a connection is obtained and checked, so the first query
+     * of the application does not pay for it.
+     * </p>
+     *
+     * @param profile the profile to build the SessionFactory for
+     * @return the SessionFactory and the timings of its build
+     * @throws RuntimeException if the configuration or SessionFactory creation fails
+     */
+    private static Bootstrap buildSessionFactory(Profile profile) {
+        long start = System.nanoTime();
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().configure(profile.resource).build();
+        try {
+            Metadata metadata = new MetadataSources(registry).buildMetadata();
+            long metadataBuilt = System.nanoTime();
+
+            SessionFactory sessionFactory = metadata.buildSessionFactory();
+            long sessionFactoryBuilt = System.nanoTime();
+
+            try (Session session = sessionFactory.openSession()) {
+                session.doWork(connection -> connection.isValid(0));
+            }
+            long connected = System.nanoTime();
+
+            return new Bootstrap(sessionFactory, new BootstrapReport(
+                    profile.resource,
+                    metadataBuilt - start,
+                    sessionFactoryBuilt - metadataBuilt,
+                    connected - sessionFactoryBuilt
+            ));
+        } catch (RuntimeException e) {
+            // Logs the error and releases the services started for the failed build
+            System.err.println("SessionFactory creation failed: " + e.getMessage());
+            StandardServiceRegistryBuilder.destroy(registry);
+            throw e;
+        }
+    }
+
+    /**
+     * A built SessionFactory together with the timings of its build.
+     *
+     * @param sessionFactory the SessionFactory
+     * @param report         the timings of the build
+     */
+    private record Bootstrap(SessionFactory sessionFactory, BootstrapReport report) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package utils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.hibernate.hikaricp.internal.HikariCPConnectionProvider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HikariCP connection provider that also records how long sessions wait for a connection.
+ * <p>
+ * The pool itself is configured through the {@code hibernate.hikari.*} properties of the Hibernate configuration
+ * file, so each SessionFactory gets its own pool. The pool counters and the recorded wait times are exposed as
+ * {@link PoolMetrics}.
+ * </p>
+ */
+public class MeteredConnectionProvider extends HikariCPConnectionProvider {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Obtains a connection from the pool, recording the time it took.
+     *
+     * @return a pooled connection
+     * @throws SQLException if no connection could be obtained within the configured timeout
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        long waited = System.nanoTime() - start;
+
+        acquisitions.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        return connection;
+    }
+
+    /**
+     * Returns the current state of the pool together with the recorded wait times.
+     *
+     * @return the metrics of the pool
+     */
+    public PoolMetrics getMetrics() {
+        HikariPoolMXBean pool = unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        return new PoolMetrics(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getThreadsAwaitingConnection(),
+                pool.getTotalConnections(),
+                acquisitions.sum(),
+                totalWaitNanos.sum(),
+                maxWaitNanos.get()
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package utils;
+
+/**
+ * Snapshot of the state of the connection pool of a SessionFactory.
+ *
+ * @param active        the number of connections currently in use
+ * @param idle          the number of open connections waiting to be used
+ * @param waiting       the number of threads waiting for a connection
+ * @param total         the number of open connections
+ * @param acquisitions  the number of connections handed out since the pool was started
+ * @param totalWaitNanos the time spent obtaining those connections, in nanoseconds
+ * @param maxWaitNanos  the longest time spent obtaining a single connection, in nanoseconds
+ */
+public record PoolMetrics(int active, int idle, int waiting, int total,
+                          long acquisitions, long totalWaitNanos, long maxWaitNanos) {
+
+    /**
+     * Returns the average time spent obtaining a connection.
+     *
+     * @return the average wait in milliseconds, or 0 if no connection has been handed out
+     */
+    public double averageWaitMillis() {
+        return acquisitions == 0 ? 0 : totalWaitNanos / 1_000_000.0 / acquisitions;
+    }
+
+    /**
+     * Returns the longest time spent obtaining a single connection.
+     *
+     * @return the longest wait in milliseconds
+     */
+    public double maxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,31 @@
+package utils;
+
+import java.util.List;
+
+/**
+ * Thrown when field values entered for an entity do not pass validation.
+ * It carries every error found, so they can all be reported to the user at once.
+ */
+public class ValidationException extends IllegalArgumentException {
+
+    private final List<String> errors;
+
+    /**
+     * Constructs a ValidationException with the given errors, which also form its message, one per line.
+     *
+     * @param errors the validation errors, in field declaration order
+     */
+    public ValidationException(List<String> errors) {
+        super(String.join("\n", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    /**
+     * Returns the validation errors.
+     *
+     * @return the errors, one per invalid field
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -36,9 +36,23 @@ CREATE TABLE Copy
     bookId     INT         NOT NULL,
     copyNumber INT         NOT NULL,
     status     VARCHAR(50) NOT NULL,
+    version    INT         DEFAULT 0 NOT NULL,
     CONSTRAINT fk_copies_book FOREIGN KEY (bookId) REFERENCES Book (id)
 );
 
+CREATE INDEX idx_copy_book_status ON Copy (bookId, status);
+
+-- Availability counters, one row per Book, kept up to date by the DAOs
+CREATE TABLE book_availability
+(
+    bookId          INT PRIMARY KEY,
+    totalCopies     INT NOT NULL,
+    availableCopies INT NOT NULL,
+    onLoan          INT NOT NULL
+);
+
+CREATE INDEX idx_availability_available ON book_availability (availableCopies, bookId);
+
 -- Librarian table with foreign key reference to Member
 CREATE TABLE Librarian
 (
@@ -61,6 +75,8 @@ CREATE TABLE Borrowing
     CONSTRAINT fk_borrowings_copy FOREIGN KEY (copyId) REFERENCES Copy (id)
 );
 
+CREATE INDEX idx_borrowing_member_date ON Borrowing (memberId, borrowDate);
+
 -- Insert values into Publisher table
 INSERT INTO Publisher (name, address, phoneNumber)
 VALUES ('Penguin Random House', '123 Publisher Lane, NY', '1234567890'),
@@ -109,5 +125,13 @@ VALUES (1, 2, DATE '2023-01-01', NULL),
        (4, 3, DATE '2023-05-01', NULL),
        (5, 1, DATE '2023-06-01', DATE '2023-07-01');
 
+-- Insert values into book_availability table (after Copy and Borrowing records)
+INSERT INTO book_availability (bookId, totalCopies, availableCopies, onLoan)
+VALUES (1, 1, 1, 0),
+       (2, 1, 0, 1),
+       (3, 1, 1, 1),
+       (4, 1, 1, 0),
+       (5, 1, 0, 1);
+
 -- Commit the transaction
 COMMIT;
\ No newline at end of file
@@ -1,3 +1,4 @@
+import data.dao.LibrarianDAO;
 import data.dependencies.LibrarianContract;
 import data.entities.*;
 import domain.LibrarianModel;
@@ -6,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import utils.HibernateUtil;
 import utils.TableCleaner;
+import utils.ValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -56,6 +58,53 @@ public class EdgeCaseTests {
         );
     }
 
+    @Test
+    void testAllInvalidFieldsAreReported() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "");
+        values.put("email", "bad.email.format");
+        values.put("phoneNumber", "1234567890");
+        values.put("address", "random address");
+
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> model.insert(values, Member.class)
+        );
+        assertEquals(2, exception.getErrors().size());
+    }
+
+    @Test
+    void testNullReferenceIsRejected() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("title", "The Great Gatsby");
+        values.put("author", "F. Scott Fitzgerald");
+        values.put("publisher", "null");
+        values.put("publicationYear", "1925");
+        values.put("isbn", "123-1231231234");
+
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> model.insert(values, Book.class)
+        );
+        assertEquals(1, exception.getErrors().size());
+        assertTrue(exception.getMessage().contains("publisher"));
+    }
+
+    @Test
+    void testUpdateOfDeletedRow() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "Example Publishing");
+        values.put("address", "123 Main St, Anytown, NY");
+        values.put("phoneNumber", "+1234567890");
+        int publisherId = model.insert(values, Publisher.class);
+        model.delete(publisherId, Publisher.class);
+
+        assertThrows(
+                ValidationException.class,
+                () -> model.update(publisherId, values, Publisher.class)
+        );
+    }
+
     @Test
     void testDuplicateEmail() {
         Map<String, Object> values1 = new HashMap<>();
@@ -155,4 +204,31 @@ public class EdgeCaseTests {
                 () ->  model.delete(memberId, Member.class)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateBindsDatesAndReferences() {
+        Map<String, Object> valuesMember = new HashMap<>();
+        valuesMember.put("name", "test name");
+        valuesMember.put("email", "mail@example.com");
+        valuesMember.put("phoneNumber", "1234567890");
+        valuesMember.put("address", "random address");
+
+        int memberId = model.insert(valuesMember, Member.class);
+
+        Map<String, Object> valuesLibrarian = new HashMap<>();
+        valuesLibrarian.put("member", String.valueOf(memberId));
+        valuesLibrarian.put("position", "Manager");
+
+        int librarianId = model.insert(valuesLibrarian, Librarian.class);
+
+        Map<String, Object> update = new HashMap<>();
+        update.put("employmentDate", "2020-05-17");
+        update.put("position", "Assistant");
+        model.update(librarianId, update, Librarian.class);
+
+        Librarian librarian = new LibrarianDAO().getById(librarianId);
+        assertEquals("2020-05-17", librarian.getEmploymentDate().toString());
+        assertEquals("Assistant", librarian.getPosition());
+        assertEquals(memberId, librarian.getMember().getId());
+    }
+}
@@ -0,0 +1,71 @@
+package benchmark;
+
+import data.dao.BookAvailabilityDAO;
+import data.dependencies.RowSource;
+import data.dependencies.TableData;
+import data.dependencies.UserContract;
+import domain.UserModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading the available titles the way the user view does: the row count and the first
+ * window of rows. Availability is read from the counters kept per book, so only one window of books
+ * is read and no copies are counted, no matter how many books and copies are stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailableTitlesBenchmark {
+
+    @Param({"100000"})
+    private int books;
+
+    @Param({"1000000"})
+    private int copies;
+
+    private final UserContract.Model model = new UserModel();
+
+    @Setup
+    public void setUp() {
+        BenchmarkDatabase.reset();
+        BenchmarkDatabase.seedPublishers(100);
+        BenchmarkDatabase.seedBooks(books);
+        BenchmarkDatabase.seedCopies(copies);
+        new BookAvailabilityDAO().rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkDatabase.reset();
+    }
+
+    @Benchmark
+    public int count() {
+        return model.getAvailableTitlesCount();
+    }
+
+    @Benchmark
+    public TableData firstWindow() {
+        return model.getAvailableTitlesData(0, RowSource.BLOCK_SIZE);
+    }
+
+    @Benchmark
+    public TableData lastWindow() {
+        return model.getAvailableTitlesData(books / 2 - RowSource.BLOCK_SIZE, RowSource.BLOCK_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AvailableTitlesBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import data.dao.PublisherDAO;
+import data.entities.Publisher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of inserting entities one by one with {@code DAO.save}
+ * against the batched {@code DAO.saveAll} path, for several batch sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BatchInsertBenchmark.ENTITIES)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+    static final int ENTITIES = 1000;
+
+    @Param({"20", "50", "200"})
+    private int batchSize;
+
+    private final PublisherDAO publisherDAO = new PublisherDAO();
+    private List<Publisher> publishers;
+
+    @Setup(Level.Iteration)
+    public void resetDatabase() {
+        BenchmarkDatabase.reset();
+    }
+
+    @Setup(Level.Invocation)
+    public void createPublishers() {
+        publishers = new ArrayList<>(ENTITIES);
+        for (int i = 0; i < ENTITIES; i++) {
+            Publisher publisher = new Publisher();
+            publisher.setName("Publisher " + i);
+            publisher.setAddress("123 Main St, Anytown, NY");
+            publisher.setPhoneNumber("+1234567890");
+            publishers.add(publisher);
+        }
+    }
+
+    @Benchmark
+    public void singleRow() {
+        for (Publisher publisher : publishers) {
+            publisherDAO.save(publisher);
+        }
+    }
+
+    @Benchmark
+    public void batched() {
+        publisherDAO.saveAll(publishers, batchSize);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BatchInsertBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,115 @@
+package benchmark;
+
+import data.dao.BookDAO;
+import data.dao.MemberDAO;
+import data.dao.PublisherDAO;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import utils.HibernateUtil;
+
+/**
+ * Prepares the test database for benchmarks.
+ * Rows are generated inside H2 with set-based INSERT ... SELECT statements, so even
+ * millions of rows can be seeded in seconds without going through the DAO layer.
+ */
+public class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {}
+
+    /**
+     * Switches to the test database and removes all rows from every table.
+     */
+    public static void reset() {
+        HibernateUtil.setTestMode(true);
+        execute("DELETE FROM book_availability");
+        execute("DELETE FROM borrowing");
+        execute("DELETE FROM copy");
+        execute("DELETE FROM librarian");
+        execute("DELETE FROM book");
+        execute("DELETE FROM publisher");
+        execute("DELETE FROM Member");
+        new PublisherDAO().invalidateCache();
+        new BookDAO().invalidateCache();
+        new MemberDAO().invalidateCache();
+    }
+
+    /**
+     * Inserts the given number of publishers.
+     *
+     * @param count the number of publishers to insert
+     */
+    public static void seedPublishers(int count) {
+        execute("INSERT INTO publisher (name, address, phoneNumber) "
+                + "SELECT 'Publisher ' || X, 'Address ' || X, '1234567890' FROM SYSTEM_RANGE(1, " + count + ")");
+    }
+
+    /**
+     * Inserts the given number of books, spread evenly over the existing publishers.
+     *
+     * @param count the number of books to insert
+     */
+    public static void seedBooks(int count) {
+        execute("INSERT INTO book (title, author, publisherId, publicationYear, isbn) "
+                + "SELECT 'Title ' || X, 'Author ' || MOD(X, 1000), "
+                + "(SELECT MIN(id) FROM publisher) + MOD(X, (SELECT COUNT(*) FROM publisher)), "
+                + "1950 + MOD(X, 75), 'ISBN-' || X FROM SYSTEM_RANGE(1, " + count + ")");
+    }
+
+    /**
+     * Inserts the given number of copies, spread evenly over the existing books.
+     * Only books with an even position have available copies, and only every fourth of their copies is available;
+     * all other copies are borrowed.
+     *
+     * @param count the number of copies to insert
+     */
+    public static void seedCopies(int count) {
+        execute("INSERT INTO copy (bookId, copyNumber, status) "
+                + "SELECT b.minId + MOD(X, b.total), X / b.total + 1, "
+                + "CASE WHEN MOD(MOD(X, b.total), 2) = 0 AND MOD(X / b.total, 4) = 0 THEN 'Available' ELSE 'Borrowed' END "
+                + "FROM SYSTEM_RANGE(0, " + (count - 1) + "), "
+                + "(SELECT MIN(id) AS minId, COUNT(*) AS total FROM book) b");
+    }
+
+    /**
+     * Inserts the given number of members.
+     *
+     * @param count the number of members to insert
+     */
+    public static void seedMembers(int count) {
+        execute("INSERT INTO Member (name, email, phoneNumber, address) "
+                + "SELECT 'Member ' || X, 'member' || X || '@example.com', '1234567890', 'Address ' || X "
+                + "FROM SYSTEM_RANGE(1, " + count + ")");
+    }
+
+    /**
+     * Inserts the given number of borrowings, spread evenly over the existing members and copies.
+     * Borrow dates go back one day per borrowing of the same member.
+     *
+     * @param count the number of borrowings to insert
+     */
+    public static void seedBorrowings(int count) {
+        execute("INSERT INTO borrowing (MEMBERID, COPYID, borrowDate) "
+                + "SELECT m.minId + MOD(X, m.total), c.minId + MOD(X, c.total), "
+                + "DATEADD(DAY, -(X / m.total), CURRENT_DATE) "
+                + "FROM SYSTEM_RANGE(0, " + (count - 1) + "), "
+                + "(SELECT MIN(id) AS minId, COUNT(*) AS total FROM Member) m, "
+                + "(SELECT MIN(id) AS minId, COUNT(*) AS total FROM copy) c");
+    }
+
+    /**
+     * Executes a native SQL statement in its own transaction.
+     *
+     * @param sql the statement to execute
+     */
+    public static void execute(String sql) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            session.createNativeMutationQuery(sql).executeUpdate();
+            transaction.commit();
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            throw new RuntimeException("Failed to execute: " + sql, e);
+        }
+    }
+}
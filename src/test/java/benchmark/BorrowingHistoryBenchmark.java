@@ -0,0 +1,80 @@
+package benchmark;
+
+import data.dao.BorrowingDAO;
+import data.dao.MemberDAO;
+import data.dependencies.RowSource;
+import data.dependencies.TableData;
+import data.dependencies.UserContract;
+import domain.UserModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading the borrowing history of one member for growing borrowing tables.
+ * Every member has the same number of borrowings at every size, so the results should stay flat:
+ * the lookup goes through the (MEMBERID, borrowDate) index instead of scanning the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowingHistoryBenchmark {
+
+    private static final int BORROWINGS_PER_MEMBER = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    private int borrowings;
+
+    private final UserContract.Model model = new UserModel();
+    private final BorrowingDAO borrowingDAO = new BorrowingDAO();
+    private int userId;
+
+    @Setup
+    public void setUp() {
+        BenchmarkDatabase.reset();
+        BenchmarkDatabase.seedPublishers(10);
+        BenchmarkDatabase.seedBooks(1000);
+        BenchmarkDatabase.seedCopies(5000);
+        BenchmarkDatabase.seedMembers(borrowings / BORROWINGS_PER_MEMBER);
+        BenchmarkDatabase.seedBorrowings(borrowings);
+
+        userId = new MemberDAO().getPage(0, 1).items().getFirst().getId();
+        model.setUserId(userId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkDatabase.reset();
+    }
+
+    @Benchmark
+    public int count() {
+        return model.getBorrowingHistoryCount();
+    }
+
+    @Benchmark
+    public TableData firstWindow() {
+        return model.getBorrowingHistoryData(0, RowSource.BLOCK_SIZE);
+    }
+
+    @Benchmark
+    public long lastMonth() {
+        LocalDate today = LocalDate.now();
+        return borrowingDAO.countBorrowingsByUserId(userId, Date.valueOf(today.minusMonths(1)), Date.valueOf(today));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BorrowingHistoryBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import data.dao.BookDAO;
+import data.dao.PublisherDAO;
+import data.entities.Book;
+import data.entities.Publisher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CRUD operations of {@link data.dao.DAO} on books, whose publisher is fetched with every read,
+ * against a database seeded with {@code databaseSize} books. The size can be changed on the command line
+ * with {@code -p databaseSize=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+
+    @Param({"10000", "100000"})
+    private int databaseSize;
+
+    private final BookDAO bookDAO = new BookDAO();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private int firstId;
+    private int isbnCounter;
+    private Publisher publisher;
+    private Book updated;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        BenchmarkDatabase.reset();
+        BenchmarkDatabase.seedPublishers(100);
+        BenchmarkDatabase.seedBooks(databaseSize);
+
+        firstId = bookDAO.getPage(0, 1).items().getFirst().getId();
+        publisher = new PublisherDAO().getPage(0, 1).items().getFirst();
+        updated = bookDAO.getById(firstId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.reset();
+    }
+
+    @Benchmark
+    public int save() {
+        return bookDAO.save(newBook());
+    }
+
+    @Benchmark
+    public Book getById() {
+        return bookDAO.getById(firstId + random.nextInt(databaseSize));
+    }
+
+    @Benchmark
+    public List<Book> getAll() {
+        return bookDAO.getAll();
+    }
+
+    @Benchmark
+    public void update() {
+        updated.setPublicationYear(updated.getPublicationYear() == 2000 ? 2001 : 2000);
+        bookDAO.update(updated);
+    }
+
+    @Benchmark
+    public void delete(Deletion deletion) {
+        bookDAO.delete(deletion.id);
+    }
+
+    private Book newBook() {
+        Book book = new Book();
+        book.setTitle("Benchmark Title");
+        book.setAuthor("Benchmark Author");
+        book.setPublisher(publisher);
+        book.setPublicationYear(2000);
+        book.setIsbn("BENCH-" + isbnCounter++);
+        return book;
+    }
+
+    /**
+     * Provides a fresh book to every invocation of {@link #delete(Deletion)}. The book is saved before the
+     * invocation and outside of its timing; no other benchmark uses this state, so their tables do not grow.
+     */
+    @State(Scope.Thread)
+    public static class Deletion {
+        private int id;
+
+        @Setup(Level.Invocation)
+        public void createBook(DaoBenchmark benchmark) {
+            id = benchmark.bookDAO.save(benchmark.newBook());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DaoBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import data.dependencies.TableData;
+import data.entities.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import utils.EntityAccessor;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-cell reflective mapping previously used by the models
+ * with the precompiled {@link EntityAccessor} path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityMappingBenchmark {
+
+    @Param({"10000", "200000"})
+    private int rows;
+
+    private List<Borrowing> borrowings;
+    private List<String> columnNames;
+
+    @Setup
+    public void setUp() {
+        Publisher publisher = new Publisher();
+        publisher.setId(1);
+
+        Book book = new Book();
+        book.setId(1);
+        book.setPublisher(publisher);
+
+        borrowings = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            Member member = new Member();
+            member.setId(i);
+
+            Copy copy = new Copy();
+            copy.setId(i);
+            copy.setBook(book);
+
+            Borrowing borrowing = new Borrowing();
+            borrowing.setId(i);
+            borrowing.setMember(member);
+            borrowing.setCopy(copy);
+            borrowing.setBorrowDate(new Date());
+            borrowings.add(borrowing);
+        }
+        columnNames = EntityAccessor.of(Borrowing.class).getColumnNames();
+    }
+
+    @Benchmark
+    public String[][] reflection() {
+        List<String[]> result = new ArrayList<>();
+        result.add(columnNames.toArray(new String[0]));
+        result.addAll(borrowings.stream()
+                .map(entity -> columnNames.stream()
+                        .map(columnName -> {
+                            try {
+                                Field field = entity.getClass().getDeclaredField(columnName);
+                                field.setAccessible(true);
+                                Object value = field.get(entity);
+                                return value != null ? value.toString() : "null";
+                            } catch (NoSuchFieldException | IllegalAccessException e) {
+                                throw new RuntimeException("Error accessing field: " + columnName, e);
+                            }
+                        })
+                        .toArray(String[]::new))
+                .toList()
+        );
+        return result.toArray(new String[0][0]);
+    }
+
+    @Benchmark
+    public TableData accessor() {
+        return EntityAccessor.of(Borrowing.class).toTable(borrowings);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EntityMappingBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
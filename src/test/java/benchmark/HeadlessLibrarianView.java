@@ -0,0 +1,168 @@
+package benchmark;
+
+import data.constants.ChangeType;
+import data.constants.LoadState;
+import data.constants.Tables;
+import data.dependencies.LibrarianContract;
+import data.dependencies.RowSource;
+import data.dependencies.TableData;
+import ui.LazyTableModel;
+
+import java.awt.event.ActionListener;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A {@link LibrarianContract.View} without any Swing components, for driving the librarian presenter
+ * in headless runs. It builds the same table models as the real view and records when the first table
+ * model was built and when every table finished loading.
+ */
+public class HeadlessLibrarianView implements LibrarianContract.View {
+
+    private final CountDownLatch firstModel = new CountDownLatch(1);
+    private final CountDownLatch allTables = new CountDownLatch(Tables.values().length);
+    private final Set<Tables> readyTables = ConcurrentHashMap.newKeySet();
+    private volatile long firstModelNanos;
+    private volatile String failure;
+
+    /**
+     * Waits until the first table model has been built.
+     *
+     * @param timeout the maximum time to wait, in seconds
+     * @return the value of {@link System#nanoTime()} when the model was built
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public long awaitFirstTableModel(long timeout) throws InterruptedException {
+        await(firstModel, timeout);
+        return firstModelNanos;
+    }
+
+    /**
+     * Waits until every table has finished loading.
+     *
+     * @param timeout the maximum time to wait, in seconds
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void awaitAllTables(long timeout) throws InterruptedException {
+        await(allTables, timeout);
+    }
+
+    private void await(CountDownLatch latch, long timeout) throws InterruptedException {
+        if (!latch.await(timeout, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Tables did not load within " + timeout + " s");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Loading a table failed: " + failure);
+        }
+    }
+
+    @Override
+    public void updateTableModel(Tables tableType, String[] columns, RowSource source) {
+        new LazyTableModel(columns, source);
+        if (firstModel.getCount() > 0) {
+            firstModelNanos = System.nanoTime();
+            firstModel.countDown();
+        }
+    }
+
+    @Override
+    public void setTableState(Tables tableType, LoadState state) {
+        if (state == LoadState.FAILED) {
+            failure = tableType.name();
+            firstModel.countDown();
+        }
+        if (state != LoadState.LOADING && readyTables.add(tableType)) {
+            allTables.countDown();
+        }
+    }
+
+    @Override
+    public void createErrorDialog(String title, String message) {
+        System.err.println(title + ": " + message);
+    }
+
+    @Override
+    public Path createSaveDialog(String title, String fileName) {
+        return null;
+    }
+
+    @Override
+    public void createMessageDialog(String title, String message) {
+    }
+
+    @Override
+    public void addSearchListener(Tables tableType, Consumer<String> listener) {
+    }
+
+    @Override
+    public void addSortListener(Tables tableType, Consumer<String> listener) {
+    }
+
+    @Override
+    public void applyRowChange(Tables tableType, ChangeType type, int id, TableData row) {
+    }
+
+    @Override
+    public void addInsertButtonListener(ActionListener listener) {
+    }
+
+    @Override
+    public void addDeleteButtonListener(ActionListener listener) {
+    }
+
+    @Override
+    public void addUpdateButtonListener(ActionListener listener) {
+    }
+
+    @Override
+    public void addExportButtonListener(ActionListener listener) {
+    }
+
+    @Override
+    public void addTabChangedListener() {
+    }
+
+    @Override
+    public int getCurrentSelectedRow() {
+        return -1;
+    }
+
+    @Override
+    public int getCurrentSelectedColumn() {
+        return -1;
+    }
+
+    @Override
+    public String getColumnName(int columnIndex) {
+        return null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return 0;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return 0;
+    }
+
+    @Override
+    public Tables getCurrentTable() {
+        return Tables.BOOK;
+    }
+
+    @Override
+    public String getValueAt(int row, int column) {
+        return "";
+    }
+
+    @Override
+    public String createInputDialog(String title, String initialValue) {
+        return null;
+    }
+}
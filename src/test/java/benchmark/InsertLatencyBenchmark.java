@@ -0,0 +1,60 @@
+package benchmark;
+
+import data.dependencies.LibrarianContract;
+import data.entities.Publisher;
+import domain.LibrarianModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of a single insert through {@link LibrarianModel#insert(Map, Class)}
+ * for growing table sizes. The latency should stay flat, since the generated ID is
+ * returned by the insert itself instead of being looked up with a full table load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertLatencyBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private final LibrarianContract.Model model = new LibrarianModel();
+    private final Map<String, Object> fieldData = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        BenchmarkDatabase.reset();
+        BenchmarkDatabase.seedPublishers(rows);
+
+        fieldData.put("name", "Benchmark Publishing");
+        fieldData.put("address", "123 Main St, Anytown, NY");
+        fieldData.put("phoneNumber", "+1234567890");
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkDatabase.reset();
+    }
+
+    @Benchmark
+    public int insert() {
+        return model.insert(fieldData, Publisher.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InsertLatencyBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import data.dependencies.LibrarianContract;
+import data.dependencies.RowSource;
+import data.dependencies.TableData;
+import data.dependencies.UserContract;
+import data.entities.Book;
+import domain.LibrarianModel;
+import domain.UserModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the operations the views call on {@link LibrarianModel} and {@link UserModel}, against a database
+ * seeded with {@code databaseSize} books and twice as many copies. The size can be changed on the command line
+ * with {@code -p databaseSize=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelBenchmark {
+
+    @Param({"10000", "100000"})
+    private int databaseSize;
+
+    private final LibrarianContract.Model librarianModel = new LibrarianModel();
+    private final UserContract.Model userModel = new UserModel();
+    private final Map<String, Object> insertData = new HashMap<>();
+    private final Map<String, Object> updateData = new HashMap<>();
+    private int updatedId;
+    private int isbnCounter;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        BenchmarkDatabase.reset();
+        BenchmarkDatabase.seedPublishers(100);
+        BenchmarkDatabase.seedBooks(databaseSize);
+        BenchmarkDatabase.seedCopies(databaseSize * 2);
+
+        TableData firstBook = librarianModel.getData(Book.class, 0, 1);
+        updatedId = firstBook.getInt(0, firstBook.indexOf("id"));
+        String publisherId = firstBook.getText(0, firstBook.indexOf("publisher"));
+
+        insertData.put("title", "Benchmark Title");
+        insertData.put("author", "Benchmark Author");
+        insertData.put("publisher", publisherId);
+        insertData.put("publicationYear", "2000");
+
+        updateData.putAll(insertData);
+        updateData.put("isbn", "999-9999999999");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.reset();
+    }
+
+    @Benchmark
+    public TableData getData() {
+        return librarianModel.getData(Book.class);
+    }
+
+    @Benchmark
+    public TableData getDataWindow() {
+        return librarianModel.getData(Book.class, 0, RowSource.BLOCK_SIZE);
+    }
+
+    @Benchmark
+    public int insert() {
+        insertData.put("isbn", String.format("999-%010d", isbnCounter++));
+        return librarianModel.insert(insertData, Book.class);
+    }
+
+    @Benchmark
+    public int update() {
+        return librarianModel.update(updatedId, updateData, Book.class);
+    }
+
+    @Benchmark
+    public TableData availableTitlesWindow() {
+        return userModel.getAvailableTitlesData(0, RowSource.BLOCK_SIZE);
+    }
+
+    @Benchmark
+    public int availableTitlesCount() {
+        return userModel.getAvailableTitlesCount();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ModelBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import data.dao.BookDAO;
+import data.entities.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures searching books through the search index, once it has been filled. A selective query matches
+ * a handful of books, while a broad one matches a token shared by every book and reads only the first rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"1000000"})
+    private int books;
+
+    private final BookDAO bookDAO = new BookDAO();
+
+    @Setup
+    public void setUp() {
+        BenchmarkDatabase.reset();
+        BenchmarkDatabase.seedPublishers(100);
+        BenchmarkDatabase.seedBooks(books);
+        bookDAO.invalidateSearchIndex();
+        bookDAO.search("title", 1);  // Fills the index outside the measurement
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkDatabase.reset();
+        bookDAO.invalidateSearchIndex();
+    }
+
+    @Benchmark
+    public List<Book> selective() {
+        return bookDAO.search("title 12345", 100);
+    }
+
+    @Benchmark
+    public List<Book> prefix() {
+        return bookDAO.search("author 99", 100);
+    }
+
+    @Benchmark
+    public List<Book> broad() {
+        return bookDAO.search("title", 100);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SearchBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,167 @@
+package benchmark;
+
+import data.constants.Tables;
+import data.dependencies.LibrarianContract;
+import data.dependencies.RowSource;
+import domain.LibrarianModel;
+import presentation.LibrarianPresenter;
+import utils.BootstrapReport;
+import utils.HibernateUtil;
+
+import javax.swing.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures the cold start of the librarian view, from JVM start until every table has been loaded.
+ * <p>
+ * Each run starts a fresh JVM in headless mode that follows the startup path of the application against the
+ * test database: the SessionFactory is bootstrapped, a first query is sent, and a {@link LibrarianPresenter}
+ * fills a {@link HeadlessLibrarianView}. The child JVM reports the duration of each phase, and the results of
+ * all runs are written as JSON to {@code target/startup-report.json}, or the path given by the
+ * {@value #REPORT_PROPERTY} system property. The number of runs is set by {@value #RUNS_PROPERTY}.
+ * </p>
+ */
+public class StartupBenchmark {
+
+    static final String RUNS_PROPERTY = "startup.runs";
+    static final String REPORT_PROPERTY = "startup.report";
+
+    private static final String RUN_ARGUMENT = "--run";
+    private static final String PHASE_PREFIX = "PHASE ";
+    private static final long TIMEOUT_SECONDS = 120;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(RUN_ARGUMENT)) {
+            runOnce();
+            System.exit(0);
+        }
+
+        int runs = Integer.getInteger(RUNS_PROPERTY, 5);
+        Path report = Path.of(System.getProperty(REPORT_PROPERTY, "target/startup-report.json"));
+
+        List<Map<String, Double>> samples = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            Map<String, Double> sample = runChild();
+            System.out.printf("Run %d/%d: %.1f ms%n", run, runs, sample.get("total"));
+            samples.add(sample);
+        }
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Files.writeString(report, toJson(samples));
+        System.out.println("Startup report written to " + report.toAbsolutePath());
+    }
+
+    /**
+     * Follows the startup path of the application once and prints the duration of each phase in milliseconds.
+     */
+    private static void runOnce() throws Exception {
+        long startedAt = System.nanoTime();
+        phase("jvmStart", ManagementFactory.getRuntimeMXBean().getUptime());
+
+        HibernateUtil.setTestMode(true);
+        BootstrapReport bootstrap = HibernateUtil.startBootstrap().join();
+        long bootstrapped = System.nanoTime();
+        phase("metadata", millis(bootstrap.metadataNanos()));
+        phase("sessionFactory", millis(bootstrap.sessionFactoryNanos()));
+        phase("firstConnection", millis(bootstrap.connectionNanos()));
+        phase("bootstrap", millis(bootstrapped - startedAt));
+
+        LibrarianContract.Model model = new LibrarianModel();
+        Class<?> entityClass = Tables.BOOK.getEntityClass();
+        model.getRowCount(entityClass);
+        model.getData(entityClass, 0, RowSource.BLOCK_SIZE);
+        long queried = System.nanoTime();
+        phase("firstQuery", millis(queried - bootstrapped));
+
+        // The presenter is created on the Event Dispatch Thread, as in the application
+        HeadlessLibrarianView view = new HeadlessLibrarianView();
+        AtomicReference<LibrarianPresenter> presenter = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> presenter.set(new LibrarianPresenter(view, model)));
+        phase("firstTableModel", millis(view.awaitFirstTableModel(TIMEOUT_SECONDS) - queried));
+        view.awaitAllTables(TIMEOUT_SECONDS);
+        phase("allTables", millis(System.nanoTime() - queried));
+        presenter.get().dispose();
+
+        phase("total", ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /**
+     * Runs the startup path in a new JVM with the same classpath.
+     *
+     * @return the phase durations reported by the JVM, in milliseconds, in the order they were reported
+     */
+    private static Map<String, Double> runChild() throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Djava.awt.headless=true",
+                "-cp", System.getProperty("java.class.path"),
+                StartupBenchmark.class.getName(), RUN_ARGUMENT)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        Map<String, Double> phases = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(PHASE_PREFIX)) {
+                    String[] parts = line.substring(PHASE_PREFIX.length()).split(" ");
+                    phases.put(parts[0], Double.parseDouble(parts[1]));
+                }
+            }
+        }
+        if (process.waitFor() != 0 || !phases.containsKey("total")) {
+            throw new IllegalStateException("Startup run failed with exit code " + process.exitValue());
+        }
+        return phases;
+    }
+
+    /**
+     * Formats the samples as a JSON report with the minimum, median and maximum of every phase.
+     */
+    private static String toJson(List<Map<String, Double>> samples) {
+        StringJoiner phases = new StringJoiner(",\n", "{\n", "\n  }");
+        for (String phase : samples.getFirst().keySet()) {
+            double[] values = samples.stream().mapToDouble(sample -> sample.get(phase)).sorted().toArray();
+            phases.add(String.format(Locale.ROOT, "    \"%s\": {\"min\": %.3f, \"median\": %.3f, \"max\": %.3f}",
+                    phase, values[0], values[values.length / 2], values[values.length - 1]));
+        }
+
+        StringJoiner runs = new StringJoiner(",\n", "[\n", "\n  ]");
+        for (Map<String, Double> sample : samples) {
+            StringJoiner run = new StringJoiner(", ", "    {", "}");
+            sample.forEach((phase, value) -> run.add(String.format(Locale.ROOT, "\"%s\": %.3f", phase, value)));
+            runs.add(run.toString());
+        }
+
+        return "{\n"
+                + "  \"timestamp\": \"" + Instant.now() + "\",\n"
+                + "  \"javaVersion\": \"" + System.getProperty("java.version") + "\",\n"
+                + "  \"unit\": \"ms\",\n"
+                + "  \"runs\": " + samples.size() + ",\n"
+                + "  \"phases\": " + phases + ",\n"
+                + "  \"samples\": " + runs + "\n"
+                + "}\n";
+    }
+
+    private static void phase(String name, double millis) {
+        System.out.printf(Locale.ROOT, PHASE_PREFIX + "%s %.3f%n", name, millis);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -3,11 +3,15 @@ package integration;
 import data.dao.*;
 import data.entities.*;
 
+import org.hibernate.Session;
+import org.hibernate.Transaction;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import utils.HibernateUtil;
 import utils.TableCleaner;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -19,6 +23,9 @@ public class BookCopyTest {
     private final BookDAO bookDAO = new BookDAO();
     private final CopyDAO copyDAO = new CopyDAO();
     private final PublisherDAO publisherDAO = new PublisherDAO();
+    private final MemberDAO memberDAO = new MemberDAO();
+    private final BorrowingDAO borrowingDAO = new BorrowingDAO();
+    private final BookAvailabilityDAO availabilityDAO = new BookAvailabilityDAO();
 
     @BeforeEach
     void setUp() {
@@ -56,4 +63,188 @@ public class BookCopyTest {
         assertNotNull(retrievedCopy);
         assertEquals(book.getId(), retrievedCopy.getBook().getId());
     }
+
+    @Test
+    void testAvailableBooks() {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        Book available = new Book();
+        available.setTitle("The Great Gatsby");
+        available.setAuthor("F. Scott Fitzgerald");
+        available.setPublisher(publisher);
+        available.setPublicationYear(1925);
+        available.setIsbn("123-1231231234");
+        bookDAO.save(available);
+
+        Book borrowed = new Book();
+        borrowed.setTitle("The Great Gatsby");
+        borrowed.setAuthor("F. Scott Fitzgerald");
+        borrowed.setPublisher(publisher);
+        borrowed.setPublicationYear(1953);
+        borrowed.setIsbn("123-1231231235");
+        bookDAO.save(borrowed);
+
+        for (int copyNumber = 1; copyNumber <= 3; copyNumber++) {
+            Copy copy = new Copy();
+            copy.setBook(available);
+            copy.setCopyNumber(copyNumber);
+            copy.setStatus(copyNumber == 1 ? "Borrowed" : "Available");
+            copyDAO.save(copy);
+        }
+
+        Copy copy = new Copy();
+        copy.setBook(borrowed);
+        copy.setCopyNumber(1);
+        copy.setStatus("Borrowed");
+        copyDAO.save(copy);
+
+        // A book with several available copies is listed once, and a book sharing its title is not listed
+        Page<Book> page = bookDAO.getAvailableBooks(0, 10);
+        assertEquals(1, page.items().size());
+        assertEquals(available.getId(), page.items().getFirst().getId());
+        assertEquals(1, bookDAO.countAvailableBooks());
+    }
+
+    @Test
+    void testAvailabilityCounters() {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        Book book = new Book();
+        book.setTitle("The Great Gatsby");
+        book.setAuthor("F. Scott Fitzgerald");
+        book.setPublisher(publisher);
+        book.setPublicationYear(1925);
+        book.setIsbn("123-1231231234");
+        bookDAO.save(book);
+        assertCounters(book.getId(), 0, 0, 0);
+
+        Member member = new Member();
+        member.setName("Jane Doe");
+        member.setEmail("jane.doe@example.com");
+        member.setPhoneNumber("+1234567890");
+        member.setAddress("123 Main St, Anytown, NY");
+        memberDAO.save(member);
+
+        Copy first = new Copy();
+        first.setBook(book);
+        first.setCopyNumber(1);
+        first.setStatus("Available");
+        copyDAO.save(first);
+
+        Copy second = new Copy();
+        second.setBook(book);
+        second.setCopyNumber(2);
+        second.setStatus("Damaged");
+        copyDAO.save(second);
+        assertCounters(book.getId(), 2, 1, 0);
+
+        CirculationService circulationService = new CirculationService();
+        int borrowingId = circulationService.checkout(member.getId(), first.getId());
+        assertCounters(book.getId(), 2, 0, 1);
+        assertEquals(1, bookDAO.getActiveBorrowingsCount(book.getId()));
+
+        circulationService.checkin(borrowingId);
+        assertCounters(book.getId(), 2, 1, 0);
+
+        second = copyDAO.getById(second.getId());
+        second.setStatus("Available");
+        copyDAO.update(second);
+        assertCounters(book.getId(), 2, 2, 0);
+
+        borrowingDAO.delete(borrowingId);
+        copyDAO.delete(first.getId());
+        assertCounters(book.getId(), 1, 1, 0);
+        assertEquals(List.of(), availabilityDAO.findInconsistentBooks());
+    }
+
+    @Test
+    void testBulkWritesKeepAvailabilityCounters() {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        Book book = new Book();
+        book.setTitle("The Great Gatsby");
+        book.setAuthor("F. Scott Fitzgerald");
+        book.setPublisher(publisher);
+        book.setPublicationYear(1925);
+        book.setIsbn("123-1231231234");
+        bookDAO.save(book);
+
+        Copy first = new Copy();
+        first.setBook(book);
+        first.setCopyNumber(1);
+        first.setStatus("Available");
+
+        Copy second = new Copy();
+        second.setBook(book);
+        second.setCopyNumber(2);
+        second.setStatus("Available");
+
+        Copy third = new Copy();
+        third.setBook(book);
+        third.setCopyNumber(3);
+        third.setStatus("Damaged");
+        copyDAO.saveAll(List.of(first, second, third));
+        assertCounters(book.getId(), 3, 2, 0);
+
+        // The same copy twice in one batch is counted once
+        first.setStatus("Damaged");
+        copyDAO.updateAll(List.of(first, first));
+        assertCounters(book.getId(), 3, 1, 0);
+
+        // And so it is when it occurs in two batches
+        first.setStatus("Available");
+        copyDAO.updateAll(List.of(first, first), 1);
+        assertCounters(book.getId(), 3, 2, 0);
+        assertEquals(List.of(), availabilityDAO.findInconsistentBooks());
+    }
+
+    @Test
+    void testRebuildRepairsAvailability() {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        Book book = new Book();
+        book.setTitle("The Great Gatsby");
+        book.setAuthor("F. Scott Fitzgerald");
+        book.setPublisher(publisher);
+        book.setPublicationYear(1925);
+        book.setIsbn("123-1231231234");
+        bookDAO.save(book);
+
+        // Rows written without the DAOs are not counted until the counters are rebuilt
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeMutationQuery("INSERT INTO copy (bookId, copyNumber, status) VALUES (:bookId, 1, 'Available')")
+                    .setParameter("bookId", book.getId())
+                    .executeUpdate();
+            transaction.commit();
+        }
+        assertEquals(List.of(book.getId()), availabilityDAO.findInconsistentBooks());
+
+        availabilityDAO.rebuild();
+        assertEquals(List.of(), availabilityDAO.findInconsistentBooks());
+        assertCounters(book.getId(), 1, 1, 0);
+    }
+
+    private void assertCounters(int bookId, int totalCopies, int availableCopies, int onLoan) {
+        BookAvailability availability = bookDAO.getAvailability(bookId);
+        assertEquals(totalCopies, availability.getTotalCopies());
+        assertEquals(availableCopies, availability.getAvailableCopies());
+        assertEquals(onLoan, availability.getOnLoan());
+    }
 }
@@ -0,0 +1,174 @@
+package integration;
+
+import data.dao.*;
+import data.entities.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.HibernateUtil;
+import utils.TableCleaner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CirculationTest {
+    static {
+        HibernateUtil.setTestMode(true);
+    }
+
+    private static final int MEMBERS = 20;
+    private static final int COPIES = 50;
+    private static final int CHECKOUTS = 2000;
+
+    private final MemberDAO memberDAO = new MemberDAO();
+    private final PublisherDAO publisherDAO = new PublisherDAO();
+    private final BookDAO bookDAO = new BookDAO();
+    private final CopyDAO copyDAO = new CopyDAO();
+    private final BorrowingDAO borrowingDAO = new BorrowingDAO();
+    private final CirculationService circulationService = new CirculationService();
+
+    @BeforeEach
+    void setUp() {
+        TableCleaner.clearTable(Borrowing.class);
+        TableCleaner.clearTable(Copy.class);
+        TableCleaner.clearTable(Librarian.class);
+        TableCleaner.clearTable(Member.class);
+        TableCleaner.clearTable(Book.class);
+        TableCleaner.clearTable(Publisher.class);
+    }
+
+    @Test
+    void testCheckoutAndCheckin() {
+        int memberId = createMembers(1).getFirst();
+        int copyId = createCopies(1).getFirst();
+
+        int borrowingId = circulationService.checkout(memberId, copyId);
+        assertEquals("Borrowed", copyDAO.getById(copyId).getStatus());
+        assertNull(borrowingDAO.getById(borrowingId).getReturnDate());
+        assertThrows(IllegalStateException.class, () -> circulationService.checkout(memberId, copyId));
+
+        circulationService.checkin(borrowingId);
+        assertEquals("Available", copyDAO.getById(copyId).getStatus());
+        assertNotNull(borrowingDAO.getById(borrowingId).getReturnDate());
+        assertThrows(IllegalStateException.class, () -> circulationService.checkin(borrowingId));
+
+        assertThrows(IllegalArgumentException.class, () -> circulationService.checkout(memberId, copyId + 1));
+        assertThrows(IllegalArgumentException.class, () -> circulationService.checkin(borrowingId + 1));
+    }
+
+    @Test
+    void testConcurrentCheckoutsNeverLendACopyTwice() throws Exception {
+        List<Integer> memberIds = createMembers(MEMBERS);
+        List<Integer> copyIds = createCopies(COPIES);
+
+        List<Throwable> failures = runConcurrently(CHECKOUTS, i ->
+                circulationService.checkout(memberIds.get(i % MEMBERS), copyIds.get(i % COPIES)));
+
+        // Every copy is lent exactly once, and every other attempt is rejected because the copy is borrowed
+        Map<Integer, Long> borrowingsPerCopy = borrowingDAO.getAll().stream()
+                .collect(Collectors.groupingBy(borrowing -> borrowing.getCopy().getId(), Collectors.counting()));
+        assertEquals(COPIES, borrowingsPerCopy.size());
+        assertTrue(borrowingsPerCopy.values().stream().allMatch(count -> count == 1));
+        assertEquals(CHECKOUTS - COPIES, failures.size());
+        assertTrue(failures.stream().allMatch(IllegalStateException.class::isInstance));
+        assertTrue(copyDAO.getAll().stream().allMatch(copy -> copy.getStatus().equals("Borrowed")));
+
+        // Every successful checkout is counted once in the availability of the book
+        BookAvailability availability = bookDAO.getAvailability(copyDAO.getById(copyIds.getFirst()).getBook().getId());
+        assertEquals(0, availability.getAvailableCopies());
+        assertEquals(COPIES, availability.getOnLoan());
+    }
+
+    @Test
+    void testConcurrentCheckinsReturnACopyOnce() throws Exception {
+        int memberId = createMembers(1).getFirst();
+        int copyId = createCopies(1).getFirst();
+        int borrowingId = circulationService.checkout(memberId, copyId);
+
+        List<Throwable> failures = runConcurrently(50, _ -> {
+            circulationService.checkin(borrowingId);
+            return borrowingId;
+        });
+
+        assertEquals(49, failures.size());
+        assertTrue(failures.stream().allMatch(IllegalStateException.class::isInstance));
+        assertEquals("Available", copyDAO.getById(copyId).getStatus());
+    }
+
+    /**
+     * Runs the given number of tasks at once, each on its own thread, and collects their failures.
+     */
+    private static List<Throwable> runConcurrently(int tasks, Function<Integer, Integer> task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>(tasks);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.apply(index);
+                }));
+            }
+            start.countDown();
+        }
+
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<Integer> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        return failures;
+    }
+
+    private List<Integer> createMembers(int count) {
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Member member = new Member();
+            member.setName("Member " + i);
+            member.setEmail("member" + i + "@example.com");
+            member.setPhoneNumber("+1234567890");
+            member.setAddress("123 Main St, Anytown, NY");
+            ids.add(memberDAO.save(member));
+        }
+        return ids;
+    }
+
+    private List<Integer> createCopies(int count) {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        Book book = new Book();
+        book.setTitle("The Great Gatsby");
+        book.setAuthor("F. Scott Fitzgerald");
+        book.setPublisher(publisher);
+        book.setPublicationYear(1925);
+        book.setIsbn("123-1231231234");
+        bookDAO.save(book);
+
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Copy copy = new Copy();
+            copy.setBook(book);
+            copy.setCopyNumber(i + 1);
+            copy.setStatus("Available");
+            ids.add(copyDAO.save(copy));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,116 @@
+package integration;
+
+import data.dao.*;
+import data.entities.*;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.DatasetGenerator;
+import utils.HibernateUtil;
+import utils.TableCleaner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DatasetGeneratorTest {
+    static {
+        HibernateUtil.setTestMode(true);
+    }
+
+    private final BorrowingDAO borrowingDAO = new BorrowingDAO();
+    private final CopyDAO copyDAO = new CopyDAO();
+    private final PublisherDAO publisherDAO = new PublisherDAO();
+
+    @BeforeEach
+    void setUp() {
+        TableCleaner.clearTable(Borrowing.class);
+        TableCleaner.clearTable(Copy.class);
+        TableCleaner.clearTable(Librarian.class);
+        TableCleaner.clearTable(Member.class);
+        TableCleaner.clearTable(Book.class);
+        TableCleaner.clearTable(Publisher.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Removes the generated rows at once, so the next test does not clean them up one by one
+        DatasetGenerator.clear();
+    }
+
+    @Test
+    void testClearInvalidatesCachedEntities() {
+        DatasetGenerator.clear();
+        Publisher first = new Publisher();
+        first.setName("First Publishing");
+        first.setAddress("123 Main St, Anytown, NY");
+        first.setPhoneNumber("+1234567890");
+        int id = publisherDAO.save(first);
+        assertEquals("First Publishing", publisherDAO.getCachedById(id).getName());
+
+        // The truncated table hands out the same ID again
+        DatasetGenerator.clear();
+        Publisher second = new Publisher();
+        second.setName("Second Publishing");
+        second.setAddress("123 Main St, Anytown, NY");
+        second.setPhoneNumber("+1234567890");
+        assertEquals(id, publisherDAO.save(second));
+        assertEquals("Second Publishing", publisherDAO.getCachedById(id).getName());
+    }
+
+    @Test
+    void testSameSeedGeneratesSameData() {
+        DatasetGenerator.Summary first = new DatasetGenerator(DatasetGenerator.Scale.SMALL, 7).generate();
+        long firstChecksum = borrowingChecksum();
+
+        DatasetGenerator.Summary second = new DatasetGenerator(DatasetGenerator.Scale.SMALL, 7).generate();
+        long secondChecksum = borrowingChecksum();
+
+        assertEquals(first.copies(), second.copies());
+        assertEquals(first.openBorrowings(), second.openBorrowings());
+        assertEquals(firstChecksum, secondChecksum);
+        assertEquals(DatasetGenerator.Scale.SMALL.borrowings(), borrowingDAO.count());
+        assertEquals(first.copies(), copyDAO.count());
+    }
+
+    @Test
+    void testOpenBorrowingsMatchBorrowedCopies() {
+        DatasetGenerator.Summary summary = new DatasetGenerator(DatasetGenerator.Scale.SMALL, 42).generate();
+        assertTrue(summary.openBorrowings() > 0);
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            long borrowedCopies = session.createQuery(
+                            "select count(c) from Copy c where c.status = 'Borrowed'", Long.class)
+                    .getSingleResult();
+            long openOnBorrowedCopies = session.createQuery(
+                            "select count(b) from Borrowing b where b.returnDate is null and b.copy.status = 'Borrowed'",
+                            Long.class)
+                    .getSingleResult();
+
+            assertEquals(summary.openBorrowings(), borrowedCopies);
+            assertEquals(summary.openBorrowings(), openOnBorrowedCopies);
+        }
+    }
+
+    @Test
+    void testNewRowsGetFreshIds() {
+        DatasetGenerator.Summary summary = new DatasetGenerator(DatasetGenerator.Scale.SMALL, 42).generate();
+
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        int id = new PublisherDAO().save(publisher);
+
+        assertEquals(summary.publishers() + 1, id);
+    }
+
+    private long borrowingChecksum() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                            "select sum(b.copy.id * 31 + b.member.id) from Borrowing b", Long.class)
+                    .getSingleResult();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Date;
 import utils.HibernateUtil;
+import utils.StatementCounter;
 import utils.TableCleaner;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -75,5 +76,48 @@ public class MemberBorrowingTest {
         assertEquals(copy.getId(), retrievedBorrowing.getCopy().getId());
 
     }
-}
 
+    @Test
+    void testBorrowingsAreLoadedInOneStatement() {
+        // Every borrowing references its own member, copy, book and publisher
+        for (int i = 0; i < 10; i++) {
+            Member member = new Member();
+            member.setName("Jane Doe");
+            member.setEmail("jane.doe" + i + "@example.com");
+            member.setPhoneNumber("+1234567890");
+            member.setAddress("123 Main St, Anytown, NY");
+            memberDAO.save(member);
+
+            Publisher publisher = new Publisher();
+            publisher.setName("Example Publishing " + i);
+            publisher.setAddress("123 Main St, Anytown, NY");
+            publisher.setPhoneNumber("+1234567890");
+            publisherDAO.save(publisher);
+
+            Book book = new Book();
+            book.setTitle("The Great Gatsby");
+            book.setAuthor("F. Scott Fitzgerald");
+            book.setPublisher(publisher);
+            book.setPublicationYear(1925);
+            book.setIsbn("123-123123123" + i);
+            bookDAO.save(book);
+
+            Copy copy = new Copy();
+            copy.setBook(book);
+            copy.setCopyNumber(1);
+            copy.setStatus("Borrowed");
+            copyDAO.save(copy);
+
+            Borrowing borrowing = new Borrowing();
+            borrowing.setMember(member);
+            borrowing.setCopy(copy);
+            borrowing.setBorrowDate(new Date());
+            borrowingDAO.save(borrowing);
+        }
+
+        assertEquals(1, StatementCounter.count(() -> assertEquals(10, borrowingDAO.getAll().size())));
+        assertEquals(1, StatementCounter.count(() -> assertEquals(5, borrowingDAO.getPage(0, 5).items().size())));
+        assertEquals(1, StatementCounter.count(() -> assertEquals(10, copyDAO.getPageAfter(0, 20).items().size())));
+        assertEquals(1, StatementCounter.count(() -> assertEquals(10, bookDAO.getAll().size())));
+    }
+}
@@ -1,13 +1,23 @@
 package integration;
 
+import data.constants.ExportFormat;
 import data.dao.*;
+import data.dependencies.TableData;
 import data.entities.*;
+import domain.LibrarianModel;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.EntityExporter;
 import utils.HibernateUtil;
 import utils.TableCleaner;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class PublisherBookTest {
@@ -61,4 +71,61 @@ public class PublisherBookTest {
         assertEquals("Example Publishing", retrievedBook.getPublisher().getName());
     }
 
+    @Test
+    void testBookRowsAreTyped() {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        Book book = new Book();
+        book.setTitle("The Great Gatsby");
+        book.setAuthor("F. Scott Fitzgerald");
+        book.setPublisher(publisher);
+        book.setPublicationYear(1925);
+        book.setIsbn("123-1231231234");
+        bookDAO.save(book);
+
+        TableData data = new LibrarianModel().getData(Book.class);
+        int publisherColumn = data.indexOf("publisher");
+
+        assertEquals(1, data.getRowCount());
+        assertEquals(TableData.ColumnType.INTEGER, data.getColumn(publisherColumn).type());
+        assertEquals(publisher.getId(), data.getInt(0, publisherColumn));
+        assertEquals(1925, data.getInt(0, data.indexOf("publicationYear")));
+        assertEquals("The Great Gatsby", data.getValue(0, data.indexOf("title")));
+    }
+
+    @Test
+    void testExportBooks(@TempDir Path directory) throws IOException {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        Book book = new Book();
+        book.setTitle("Say \"Hello\", World");
+        book.setAuthor("F. Scott Fitzgerald");
+        book.setPublisher(publisher);
+        book.setPublicationYear(1925);
+        book.setIsbn("123-1231231234");
+        bookDAO.save(book);
+
+        Path csv = directory.resolve("books.csv");
+        assertEquals(1, new EntityExporter<>(Book.class, ExportFormat.CSV).export(bookDAO, csv));
+        assertEquals(List.of(
+                "id,title,author,publisher,publicationYear,isbn",
+                book.getId() + ",\"Say \"\"Hello\"\", World\",F. Scott Fitzgerald," + publisher.getId() + ",1925,123-1231231234"
+        ), Files.readAllLines(csv));
+
+        Path jsonLines = directory.resolve("books.jsonl");
+        assertEquals(ExportFormat.JSON_LINES, ExportFormat.ofFileName(jsonLines.getFileName().toString()));
+        assertEquals(1, new EntityExporter<>(Book.class, ExportFormat.JSON_LINES).export(bookDAO, jsonLines));
+        assertEquals(List.of(
+                "{\"id\":" + book.getId() + ",\"title\":\"Say \\\"Hello\\\", World\",\"author\":\"F. Scott Fitzgerald\","
+                        + "\"publisher\":" + publisher.getId() + ",\"publicationYear\":1925,\"isbn\":\"123-1231231234\"}"
+        ), Files.readAllLines(jsonLines));
+    }
 }
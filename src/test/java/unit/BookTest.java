@@ -1,7 +1,9 @@
 package unit;
 
 import data.dao.*;
+import data.dependencies.QuerySpec;
 import data.entities.*;
+import data.search.SearchIndex;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,8 @@ import utils.HibernateUtil;
 import utils.TableCleaner;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -115,5 +119,132 @@ public class BookTest {
         bookDAO.delete(book.getId());
         assertNull(bookDAO.getById(book.getId()));
     }
-}
 
+    @Test
+    void testSearchBooks() {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        Book gatsby = new Book();
+        gatsby.setTitle("The Great Gatsby");
+        gatsby.setAuthor("F. Scott Fitzgerald");
+        gatsby.setPublisher(publisher);
+        gatsby.setPublicationYear(1925);
+        gatsby.setIsbn("123-1231231234");
+        bookDAO.save(gatsby);
+
+        Book mockingbird = new Book();
+        mockingbird.setTitle("To Kill a Mockingbird");
+        mockingbird.setAuthor("Harper Lee");
+        mockingbird.setPublisher(publisher);
+        mockingbird.setPublicationYear(1960);
+        mockingbird.setIsbn("123-9876543210");
+        bookDAO.save(mockingbird);
+
+        assertEquals(List.of(gatsby.getId()), bookDAO.search("gat fitz", 10).stream().map(Book::getId).toList());
+        assertEquals(2, bookDAO.search("123", 10).size());
+        assertEquals(1, bookDAO.search("123", 1).size());
+
+        // Later writes are applied to the index without reading the table again
+        mockingbird.setTitle("Go Set a Watchman");
+        bookDAO.update(mockingbird);
+        assertTrue(bookDAO.search("mockingbird", 10).isEmpty());
+        assertEquals(1, bookDAO.search("WATCH", 10).size());
+
+        bookDAO.delete(gatsby.getId());
+        assertTrue(bookDAO.search("gatsby", 10).isEmpty());
+    }
+
+    @Test
+    void testWritesDoNotWaitForSearchIndexLoad() throws Exception {
+        SearchIndex<Book> index = new SearchIndex<>(Book::getId, Book::getTitle);
+        Book gatsby = new Book();
+        gatsby.setId(1);
+        gatsby.setTitle("The Great Gatsby");
+        Book mockingbird = new Book();
+        mockingbird.setId(2);
+        mockingbird.setTitle("To Kill a Mockingbird");
+
+        // A load that stops after reading the first book, until a write has been applied
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        Thread loader = Thread.ofVirtual().start(() -> index.ensureLoaded(sink -> {
+            sink.accept(gatsby);
+            reading.countDown();
+            try {
+                assertTrue(written.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        reading.await();
+        index.put(mockingbird);  // Would block until the load finishes if the load held the lock
+        index.remove(gatsby.getId());
+        written.countDown();
+        loader.join();
+
+        // The writes made during the load are applied on top of it
+        assertArrayEquals(new int[] {2}, index.search("mockingbird", 10));
+        assertArrayEquals(new int[0], index.search("gatsby", 10));
+    }
+
+    @Test
+    void testFilterAndSortBooks() {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        String[][] books = {
+                {"The Great Gatsby", "F. Scott Fitzgerald", "1925"},
+                {"To Kill a Mockingbird", "Harper Lee", "1960"},
+                {"Go Set a Watchman", "Harper Lee", "2015"},
+                {"100% Pure", "Anonymous", "1999"},
+                {"Pride and Prejudice", "Jane Austen", "1813"}
+        };
+        for (int i = 0; i < books.length; i++) {
+            Book book = new Book();
+            book.setTitle(books[i][0]);
+            book.setAuthor(books[i][1]);
+            book.setPublisher(publisher);
+            book.setPublicationYear(Integer.parseInt(books[i][2]));
+            book.setIsbn("123-000000000" + i);
+            bookDAO.save(book);
+        }
+
+        QuerySpec byYear = QuerySpec.NONE.toggleSort("publicationYear").toggleSort("publicationYear");
+        assertEquals(List.of(2015, 1999, 1960, 1925, 1813),
+                bookDAO.getPage(byYear, 0, 10).items().stream().map(Book::getPublicationYear).toList());
+        assertEquals(List.of(1999, 1960),
+                bookDAO.getPage(byYear, 1, 2).items().stream().map(Book::getPublicationYear).toList());
+
+        QuerySpec harperLee = byYear.withFilters(QuerySpec.parseFilters("author ~ harper AND publicationYear < 2000"));
+        assertEquals(1, bookDAO.count(harperLee));
+        assertEquals("To Kill a Mockingbird", bookDAO.getPage(harperLee, 0, 10).items().getFirst().getTitle());
+
+        // Wildcards in a value are matched literally
+        assertEquals(1, bookDAO.count(QuerySpec.NONE.withFilters(QuerySpec.parseFilters("title ~ %"))));
+        assertEquals(5, bookDAO.count(QuerySpec.NONE.withFilters(
+                QuerySpec.parseFilters("publisher = " + publisher.getId()))));
+
+        // A value containing "and" is not split into filters, unless "and" starts another filter
+        assertEquals(List.of(new QuerySpec.Filter("title", QuerySpec.Operator.CONTAINS, "pride and prejudice")),
+                QuerySpec.parseFilters("title ~ pride and prejudice"));
+        assertEquals(1, bookDAO.count(QuerySpec.NONE.withFilters(
+                QuerySpec.parseFilters("title ~ pride and prejudice and publicationYear < 1900"))));
+        assertEquals(List.of(new QuerySpec.Filter("title", QuerySpec.Operator.EQUALS, "Pride and author = x")),
+                QuerySpec.parseFilters("title = \"Pride and author = x\""));
+
+        // Only displayed columns can be named, and values must fit their column
+        assertThrows(IllegalArgumentException.class,
+                () -> bookDAO.count(QuerySpec.NONE.withFilters(QuerySpec.parseFilters("class = Book"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookDAO.count(QuerySpec.NONE.withFilters(QuerySpec.parseFilters("publicationYear > old"))));
+        assertThrows(IllegalArgumentException.class, () -> bookDAO.getPage(QuerySpec.NONE.toggleSort("copies"), 0, 10));
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import utils.HibernateUtil;
 import utils.TableCleaner;
 
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 
@@ -198,4 +199,61 @@ public class BorrowingTest {
         borrowingDAO.delete(borrowing.getId());
         assertTrue(borrowingDAO.getBorrowingsByUserId(borrowing.getId()).isEmpty());
     }
+
+    @Test
+    void testBorrowingHistoryByDateRange() {
+        Member member = new Member();
+        member.setName("Jane Doe");
+        member.setEmail("jane.doe@example.com");
+        member.setPhoneNumber("+1234567890");
+        member.setAddress("123 Main St, Anytown, NY");
+        memberDAO.save(member);
+
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        Book book = new Book();
+        book.setTitle("The Great Gatsby");
+        book.setAuthor("F. Scott Fitzgerald");
+        book.setPublisher(publisher);
+        book.setPublicationYear(1925);
+        book.setIsbn("123-1231231234");
+        bookDAO.save(book);
+
+        Copy copy = new Copy();
+        copy.setBook(book);
+        copy.setCopyNumber(1);
+        copy.setStatus("Available");
+        copyDAO.save(copy);
+
+        // One borrowing per day, ten days in a row
+        LocalDate start = LocalDate.now().minusDays(10);
+        for (int i = 0; i < 10; i++) {
+            Borrowing borrowing = new Borrowing();
+            borrowing.setMember(member);
+            borrowing.setCopy(copy);
+            borrowing.setBorrowDate(java.sql.Date.valueOf(start.plusDays(i)));
+            borrowingDAO.save(borrowing);
+        }
+
+        assertEquals(10, borrowingDAO.countBorrowingsByUserId(member.getId(), null, null));
+        assertEquals(0, borrowingDAO.countBorrowingsByUserId(member.getId() + 1, null, null));
+
+        Page<Borrowing> firstPage = borrowingDAO.getBorrowingsByUserId(member.getId(), null, null, 0, 4);
+        assertEquals(4, firstPage.items().size());
+        assertTrue(firstPage.hasMore());
+        assertFalse(firstPage.items().get(0).getBorrowDate().before(firstPage.items().get(1).getBorrowDate()));
+
+        Page<Borrowing> lastPage = borrowingDAO.getBorrowingsByUserId(member.getId(), null, null, 8, 4);
+        assertEquals(2, lastPage.items().size());
+        assertFalse(lastPage.hasMore());
+
+        Date from = java.sql.Date.valueOf(start.plusDays(2));
+        Date to = java.sql.Date.valueOf(start.plusDays(5));
+        assertEquals(4, borrowingDAO.countBorrowingsByUserId(member.getId(), from, to));
+        assertEquals(4, borrowingDAO.getBorrowingsByUserId(member.getId(), from, to, 0, 10).items().size());
+    }
 }
@@ -0,0 +1,54 @@
+package unit;
+
+import data.dependencies.RowSource;
+import data.dependencies.TableData;
+import org.junit.jupiter.api.Test;
+import ui.LazyTableModel;
+
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyTableModelTest {
+
+    private static final TableData.Column[] COLUMNS = {
+            new TableData.Column("id", TableData.ColumnType.INTEGER),
+            new TableData.Column("name", TableData.ColumnType.TEXT)
+    };
+
+    @Test
+    void testFailedBlockIsLoadedAgain() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        RowSource source = new RowSource() {
+            @Override
+            public int getRowCount() {
+                return 1;
+            }
+
+            @Override
+            public TableData getRows(int offset, int limit) {
+                if (reads.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Simulated failure of the first read");
+                }
+                return TableData.builder(COLUMNS, 1).nextRow().setInt(0, 7).setText(1, "Example").build();
+            }
+        };
+        LazyTableModel model = new LazyTableModel(new String[] {"id", "name"}, source);
+
+        // The model is only used on the Event Dispatch Thread; read the cells until the block has arrived
+        Object[] cells = new Object[2];
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (cells[0] == null && System.nanoTime() < deadline) {
+            SwingUtilities.invokeAndWait(() -> {
+                cells[0] = model.getValueAt(0, 0);
+                cells[1] = model.getValueAt(0, 1);
+            });
+            Thread.sleep(10);
+        }
+
+        assertEquals(7, cells[0]);
+        assertEquals("Example", cells[1]);
+        assertTrue(reads.get() >= 2);
+    }
+}
@@ -1,14 +1,21 @@
 package unit;
 
+import data.constants.ChangeType;
 import data.dao.*;
 import data.entities.*;
+import data.events.EntityChangeBus;
+import data.events.EntityChangeEvent;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import utils.HibernateUtil;
+import utils.PoolMetrics;
 import utils.TableCleaner;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,6 +50,18 @@ public class PublisherTest {
         assertEquals("123 Main St, Anytown, NY", retrievedPublisher.getAddress());
     }
 
+    @Test
+    void testSaveReturnsGeneratedId() {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        int id = publisherDAO.save(publisher);
+
+        assertEquals(publisher.getId(), id);
+        assertEquals("Example Publishing", publisherDAO.getById(id).getName());
+    }
+
     @Test
     void testRetrieveAllPublishers() {
         Publisher publisher = new Publisher();
@@ -72,6 +91,84 @@ public class PublisherTest {
         assertEquals(newAddress, updatedPublisher.getAddress());
     }
 
+    @Test
+    void testBatchSaveAndUpdate() {
+        List<Publisher> publishers = new ArrayList<>();
+        for (int i = 1; i <= 120; i++) {
+            Publisher publisher = new Publisher();
+            publisher.setName("Publisher " + i);
+            publisher.setAddress("123 Main St, Anytown, NY");
+            publisher.setPhoneNumber("+1234567890");
+            publishers.add(publisher);
+        }
+        publisherDAO.saveAll(publishers, 50);
+
+        assertEquals(120, publisherDAO.count());
+        publishers.forEach(publisher -> assertNotEquals(0, publisher.getId(), "Publisher ID should be generated."));
+
+        publishers.forEach(publisher -> publisher.setAddress("456 Updated Address, Boston, MA"));
+        publisherDAO.updateAll(publishers, 50);
+
+        assertTrue(publisherDAO.getAll().stream()
+                .allMatch(publisher -> publisher.getAddress().equals("456 Updated Address, Boston, MA")));
+    }
+
+    @Test
+    void testCachedLookupIsInvalidatedOnUpdate() {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        publisherDAO.getCachedById(publisher.getId());
+        long hits = publisherDAO.getCacheStatistics().hits();
+        publisherDAO.getCachedById(publisher.getId());
+        assertEquals(hits + 1, publisherDAO.getCacheStatistics().hits());
+
+        publisher.setName("Renamed Publishing");
+        publisherDAO.update(publisher);
+
+        long misses = publisherDAO.getCacheStatistics().misses();
+        assertEquals("Renamed Publishing", publisherDAO.getCachedById(publisher.getId()).getName());
+        assertEquals(misses + 1, publisherDAO.getCacheStatistics().misses());
+    }
+
+    @Test
+    void testUpdateDuringCacheMissIsNotHidden() throws Exception {
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+
+        // A reader that stops between loading the row and caching it
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        PublisherDAO slowDAO = new PublisherDAO() {
+            @Override
+            public Publisher getById(int id) {
+                Publisher stale = super.getById(id);
+                loaded.countDown();
+                try {
+                    updated.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return stale;
+            }
+        };
+        Thread reader = Thread.ofVirtual().start(() -> slowDAO.getCachedById(publisher.getId()));
+
+        loaded.await();
+        publisher.setName("Renamed Publishing");
+        publisherDAO.update(publisher);
+        updated.countDown();
+        reader.join();
+
+        assertEquals("Renamed Publishing", publisherDAO.getCachedById(publisher.getId()).getName());
+    }
+
     @Test
     void testDeletePublisher() {
         Publisher publisher = new Publisher();
@@ -84,5 +181,130 @@ public class PublisherTest {
 
         assertNull(publisherDAO.getById(publisher.getId()));
     }
-}
 
+    @Test
+    void testPagedRetrieval() {
+        for (int i = 1; i <= 5; i++) {
+            Publisher publisher = new Publisher();
+            publisher.setName("Publisher " + i);
+            publisher.setAddress("123 Main St, Anytown, NY");
+            publisher.setPhoneNumber("+1234567890");
+            publisherDAO.save(publisher);
+        }
+
+        assertEquals(5, publisherDAO.count());
+
+        Page<Publisher> first = publisherDAO.getPage(0, 2);
+        assertEquals(2, first.items().size());
+        assertEquals("Publisher 1", first.items().get(0).getName());
+        assertTrue(first.hasMore());
+
+        Page<Publisher> last = publisherDAO.getPage(4, 2);
+        assertEquals(1, last.items().size());
+        assertEquals("Publisher 5", last.items().get(0).getName());
+        assertFalse(last.hasMore());
+    }
+
+    @Test
+    void testKeysetPaging() {
+        for (int i = 1; i <= 5; i++) {
+            Publisher publisher = new Publisher();
+            publisher.setName("Publisher " + i);
+            publisher.setAddress("123 Main St, Anytown, NY");
+            publisher.setPhoneNumber("+1234567890");
+            publisherDAO.save(publisher);
+        }
+
+        List<String> names = new ArrayList<>();
+        Page<Publisher> page = publisherDAO.getPageAfter(0, 2);
+        page.items().forEach(publisher -> names.add(publisher.getName()));
+        while (page.hasMore()) {
+            page = publisherDAO.getPageAfter(page.continuation(), 2);
+            page.items().forEach(publisher -> names.add(publisher.getName()));
+        }
+
+        assertEquals(List.of("Publisher 1", "Publisher 2", "Publisher 3", "Publisher 4", "Publisher 5"), names);
+    }
+
+    @Test
+    void testChangesArePublished() {
+        List<EntityChangeEvent> events = new ArrayList<>();
+        Consumer<EntityChangeEvent> listener = event -> {
+            if (event.entityClass() == Publisher.class) {
+                events.add(event);
+            }
+        };
+        EntityChangeBus.subscribe(listener);
+        try {
+            Publisher publisher = new Publisher();
+            publisher.setName("Example Publishing");
+            publisher.setAddress("123 Main St, Anytown, NY");
+            publisher.setPhoneNumber("+1234567890");
+            int id = publisherDAO.save(publisher);
+
+            publisher.setName("Updated Publishing");
+            publisherDAO.update(publisher);
+            publisherDAO.delete(id);
+
+            assertEquals(List.of(
+                    new EntityChangeEvent(Publisher.class, ChangeType.INSERT, id),
+                    new EntityChangeEvent(Publisher.class, ChangeType.UPDATE, id),
+                    new EntityChangeEvent(Publisher.class, ChangeType.DELETE, id)
+            ), events);
+        } finally {
+            EntityChangeBus.unsubscribe(listener);
+        }
+    }
+
+    @Test
+    void testBatchChangesArePublishedOnce() {
+        List<EntityChangeEvent> events = new ArrayList<>();
+        Consumer<EntityChangeEvent> listener = event -> {
+            if (event.entityClass() == Publisher.class) {
+                events.add(event);
+            }
+        };
+        EntityChangeBus.subscribe(listener);
+        try {
+            List<Publisher> publishers = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                Publisher publisher = new Publisher();
+                publisher.setName("Publisher " + i);
+                publisher.setAddress("123 Main St, Anytown, NY");
+                publisher.setPhoneNumber("+1234567890");
+                publishers.add(publisher);
+            }
+            publisherDAO.saveAll(publishers, 50);
+            publisherDAO.updateAll(publishers, 50);
+            publisherDAO.saveAll(List.of(), 50);  // Writes nothing, so nothing is announced
+            publisherDAO.updateAll(List.of(), 50);
+
+            List<Integer> ids = publishers.stream().map(Publisher::getId).toList();
+            assertEquals(List.of(
+                    new EntityChangeEvent(Publisher.class, ChangeType.INSERT, ids),
+                    new EntityChangeEvent(Publisher.class, ChangeType.UPDATE, ids)
+            ), events);
+            assertTrue(events.getFirst().isBulk());
+        } finally {
+            EntityChangeBus.unsubscribe(listener);
+        }
+    }
+
+    @Test
+    void testConnectionsAreReturnedToThePool() {
+        PoolMetrics before = HibernateUtil.getPoolMetrics();
+        assertNotNull(before);
+
+        Publisher publisher = new Publisher();
+        publisher.setName("Example Publishing");
+        publisher.setAddress("123 Main St, Anytown, NY");
+        publisher.setPhoneNumber("+1234567890");
+        publisherDAO.save(publisher);
+        publisherDAO.getAll();
+
+        PoolMetrics after = HibernateUtil.getPoolMetrics();
+        assertTrue(after.acquisitions() >= before.acquisitions() + 2);
+        assertEquals(0, after.active());
+        assertTrue(after.total() > 0);
+    }
+}
@@ -0,0 +1,396 @@
+package utils;
+
+import data.dao.BookAvailabilityDAO;
+import data.dao.BookDAO;
+import data.dao.MemberDAO;
+import data.dao.PublisherDAO;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic library in the current database for load tests and benchmarks.
+ * <p>
+ * The data set is fully determined by its {@link Scale} and seed: the same arguments always produce
+ * the same rows with the same IDs. Its shape follows a real library rather than a uniform spread:
+ * </p>
+ * <ul>
+ *     <li>book popularity follows a Zipf distribution, so a few titles account for most borrowings;</li>
+ *     <li>member activity is skewed as well, giving some members very long borrowing histories;</li>
+ *     <li>most borrowings are returned, while about one in ten is still open, on a copy that is marked as borrowed.</li>
+ * </ul>
+ * <p>
+ * Rows are written with plain JDBC batches on a single connection, bypassing the entities and the models,
+ * and committed in chunks so that even the largest scale does not build up one huge transaction.
+ * All existing rows are removed first, and the availability counters of the books are rebuilt at the end.
+ * </p>
+ */
+public class DatasetGenerator {
+
+    /**
+     * The size of a generated data set, given by its number of borrowings.
+     * The other tables are sized relative to it.
+     */
+    public enum Scale {
+        SMALL(10_000),
+        MEDIUM(1_000_000),
+        LARGE(10_000_000);
+
+        private final int borrowings;
+
+        Scale(int borrowings) {
+            this.borrowings = borrowings;
+        }
+
+        public int borrowings() {
+            return borrowings;
+        }
+
+        public int books() {
+            return Math.max(100, borrowings / 20);
+        }
+
+        public int publishers() {
+            return Math.max(10, books() / 100);
+        }
+
+        public int members() {
+            return Math.max(100, borrowings / 50);
+        }
+
+        public int librarians() {
+            return Math.max(5, members() / 1000);
+        }
+    }
+
+    /**
+     * Numbers of rows written by {@link #generate()}.
+     *
+     * @param publishers     the number of publishers
+     * @param books          the number of books
+     * @param copies         the number of copies
+     * @param members        the number of members
+     * @param librarians     the number of librarians
+     * @param borrowings     the number of borrowings
+     * @param openBorrowings the number of borrowings that have not been returned
+     * @param millis         the time spent generating, in milliseconds
+     */
+    public record Summary(int publishers, int books, int copies, int members, int librarians,
+                          int borrowings, int openBorrowings, long millis) {
+    }
+
+    private static final int BATCH_SIZE = 1_000;          // Rows per JDBC batch
+    private static final int COMMIT_INTERVAL = 100_000;   // Rows per transaction
+    private static final int MAX_COPIES_PER_BOOK = 5;
+    private static final double BOOK_SKEW = 1.0;          // Zipf exponent of book popularity
+    private static final double MEMBER_SKEW = 0.8;        // Zipf exponent of member activity
+    private static final double OPEN_SHARE = 0.1;         // Share of borrowings that are still open
+    private static final int MAX_LOAN_DAYS = 60;
+
+    // Fixed calendar, so the data set does not depend on the day it is generated
+    private static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2024, 12, 31);
+    private static final int DAYS = (int) (LAST_DAY.toEpochDay() - FIRST_DAY.toEpochDay());
+
+    private static final String[] FIRST_NAMES = {"Anna", "Jan", "Maria", "Piotr", "Eva", "Tom", "Olga", "Adam", "Lena", "Max"};
+    private static final String[] LAST_NAMES = {"Nowak", "Smith", "Kowalski", "Novak", "Meyer", "Brown", "Wilson", "Garcia"};
+    private static final String[] POSITIONS = {"Manager", "Assistant", "Technician", "Clerk", "Cataloguer"};
+
+    private static final String[] TABLES =
+            {"book_availability", "borrowing", "librarian", "copy", "book", "publisher", "Member"};
+
+    private final Scale scale;
+    private final SplittableRandom random;
+
+    public DatasetGenerator(Scale scale, long seed) {
+        this.scale = scale;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Generates a data set of the given scale in the test database and optionally backs it up.
+     * Usage: {@code DatasetGenerator [SMALL|MEDIUM|LARGE] [seed]}. If the {@code fixture.backup} system
+     * property is set, the database is backed up to that zip file, from which H2 can restore it.
+     */
+    public static void main(String[] args) {
+        Scale scale = args.length > 0 ? Scale.valueOf(args[0]) : Scale.SMALL;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+
+        HibernateUtil.setTestMode(true);
+        Summary summary = new DatasetGenerator(scale, seed).generate();
+        System.out.println(scale + " data set (seed " + seed + "): " + summary);
+
+        String backup = System.getProperty("fixture.backup");
+        if (backup != null) {
+            execute(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("BACKUP TO '" + backup.replace("'", "''") + "'");
+                }
+            });
+            System.out.println("Backed up to " + backup);
+        }
+        HibernateUtil.shutdown();
+    }
+
+    /**
+     * Removes all rows from every table and restarts their ID sequences.
+     */
+    public static void clear() {
+        execute(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                for (String table : TABLES) {
+                    statement.execute("TRUNCATE TABLE " + table + " RESTART IDENTITY");
+                }
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        });
+        invalidateCaches();
+    }
+
+    /**
+     * Replaces the contents of the database with a new data set.
+     *
+     * @return the numbers of rows written
+     */
+    public Summary generate() {
+        long start = System.nanoTime();
+        clear();
+
+        int publishers = scale.publishers();
+        int books = scale.books();
+        int members = scale.members();
+        int librarians = scale.librarians();
+
+        // Copies of book i have the IDs firstCopy[i] .. firstCopy[i + 1] - 1
+        int[] firstCopy = new int[books + 1];
+        firstCopy[0] = 1;
+        for (int book = 0; book < books; book++) {
+            firstCopy[book + 1] = firstCopy[book] + 1 + random.nextInt(MAX_COPIES_PER_BOOK);
+        }
+        int copies = firstCopy[books] - 1;
+
+        ZipfSampler bookPopularity = new ZipfSampler(books, BOOK_SKEW, random);
+        ZipfSampler memberActivity = new ZipfSampler(members, MEMBER_SKEW, random);
+        BitSet onLoan = new BitSet(copies + 1);
+        int[] openBorrowings = new int[1];
+
+        execute(connection -> {
+            insert(connection, "INSERT INTO publisher (id, name, address, phoneNumber) VALUES (?, ?, ?, ?)",
+                    publishers, (statement, i) -> {
+                        statement.setInt(1, i + 1);
+                        statement.setString(2, "Publisher " + (i + 1));
+                        statement.setString(3, (i + 1) + " Market St, Springfield");
+                        statement.setString(4, phoneNumber());
+                    });
+
+            insert(connection, "INSERT INTO book (id, title, author, publisherId, publicationYear, isbn) VALUES (?, ?, ?, ?, ?, ?)",
+                    books, (statement, i) -> {
+                        statement.setInt(1, i + 1);
+                        statement.setString(2, "Title " + (i + 1));
+                        statement.setString(3, personName());
+                        statement.setInt(4, 1 + random.nextInt(publishers));
+                        statement.setInt(5, 1900 + random.nextInt(125));
+                        statement.setString(6, String.format("978-%010d", i + 1));
+                    });
+
+            insert(connection, "INSERT INTO Member (id, name, email, phoneNumber, address) VALUES (?, ?, ?, ?, ?)",
+                    members, (statement, i) -> {
+                        statement.setInt(1, i + 1);
+                        statement.setString(2, personName());
+                        statement.setString(3, "member" + (i + 1) + "@example.com");
+                        statement.setString(4, phoneNumber());
+                        statement.setString(5, (i + 1) + " Main St, Anytown");
+                    });
+
+            insert(connection, "INSERT INTO librarian (id, memberId, employmentDate, position) VALUES (?, ?, ?, ?)",
+                    librarians, (statement, i) -> {
+                        statement.setInt(1, i + 1);
+                        statement.setInt(2, i + 1);
+                        statement.setDate(3, day(random.nextInt(DAYS)));
+                        statement.setString(4, POSITIONS[random.nextInt(POSITIONS.length)]);
+                    });
+
+            // Copies are available until the open borrowings are known
+            int[] copyBook = new int[1];
+            insert(connection, "INSERT INTO copy (id, bookId, copyNumber, status) VALUES (?, ?, ?, ?)",
+                    copies, (statement, i) -> {
+                        int copy = i + 1;
+                        while (firstCopy[copyBook[0] + 1] <= copy) {
+                            copyBook[0]++;
+                        }
+                        statement.setInt(1, copy);
+                        statement.setInt(2, copyBook[0] + 1);
+                        statement.setInt(3, copy - firstCopy[copyBook[0]] + 1);
+                        statement.setString(4, "Available");
+                    });
+
+            insert(connection, "INSERT INTO borrowing (id, MEMBERID, COPYID, borrowDate, returnDate) VALUES (?, ?, ?, ?, ?)",
+                    scale.borrowings(), (statement, i) -> {
+                        int book = bookPopularity.next();
+                        int copy = firstCopy[book] + random.nextInt(firstCopy[book + 1] - firstCopy[book]);
+                        statement.setInt(1, i + 1);
+                        statement.setInt(2, 1 + memberActivity.next());
+                        statement.setInt(3, copy);
+
+                        // A copy can only be on loan once; open borrowings are recent
+                        if (random.nextDouble() < OPEN_SHARE && !onLoan.get(copy)) {
+                            onLoan.set(copy);
+                            openBorrowings[0]++;
+                            statement.setDate(4, day(DAYS - random.nextInt(MAX_LOAN_DAYS)));
+                            statement.setDate(5, null);
+                        } else {
+                            int borrowDay = random.nextInt(DAYS - MAX_LOAN_DAYS);
+                            statement.setDate(4, day(borrowDay));
+                            statement.setDate(5, day(borrowDay + 1 + random.nextInt(MAX_LOAN_DAYS)));
+                        }
+                    });
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("UPDATE copy SET status = 'Borrowed' "
+                        + "WHERE id IN (SELECT COPYID FROM borrowing WHERE returnDate IS NULL)");
+            }
+
+            // Explicit IDs do not advance the identity columns, so new rows must start after the generated ones
+            try (Statement statement = connection.createStatement()) {
+                restartIdentity(statement, "publisher", publishers);
+                restartIdentity(statement, "book", books);
+                restartIdentity(statement, "Member", members);
+                restartIdentity(statement, "librarian", librarians);
+                restartIdentity(statement, "borrowing", scale.borrowings());
+                restartIdentity(statement, "copy", copies);
+            }
+        });
+
+        invalidateCaches();
+        new BookAvailabilityDAO().rebuild();
+        return new Summary(publishers, books, copies, members, librarians, scale.borrowings(), openBorrowings[0],
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Makes the caches and search indexes read the tables again, since the rows are written without the DAOs
+     * and their IDs are reused.
+     */
+    private static void invalidateCaches() {
+        new PublisherDAO().invalidateCache();
+        new BookDAO().invalidateCache();
+        new BookDAO().invalidateSearchIndex();
+        new MemberDAO().invalidateCache();
+        new MemberDAO().invalidateSearchIndex();
+    }
+
+    /**
+     * Binds the parameters of one generated row.
+     */
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, int index) throws SQLException;
+    }
+
+    /**
+     * Writes rows in JDBC batches, committing every {@value #COMMIT_INTERVAL} rows.
+     */
+    private static void insert(Connection connection, String sql, int rows, RowBinder binder) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                binder.bind(statement, i);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+                if ((i + 1) % COMMIT_INTERVAL == 0) {
+                    connection.commit();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static void restartIdentity(Statement statement, String table, int rows) throws SQLException {
+        statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (rows + 1));
+    }
+
+    /**
+     * Runs JDBC work on a connection of the current SessionFactory with manual commits.
+     */
+    private static void execute(org.hibernate.jdbc.Work work) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.doWork(connection -> {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    work.execute(connection);
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            });
+        }
+    }
+
+    private String personName() {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private String phoneNumber() {
+        return String.format("+48%09d", random.nextInt(1_000_000_000));
+    }
+
+    private static Date day(int dayIndex) {
+        return Date.valueOf(FIRST_DAY.plusDays(dayIndex));
+    }
+
+    /**
+     * Draws indices 0 .. n - 1 with Zipf-distributed frequencies: the k-th most popular index is drawn
+     * with a probability proportional to 1 / k^skew. Which index gets which rank is shuffled, so popularity
+     * is not tied to the order of the IDs.
+     */
+    private static class ZipfSampler {
+        private final double[] cumulative;
+        private final int[] indexByRank;
+        private final SplittableRandom random;
+
+        ZipfSampler(int n, double skew, SplittableRandom random) {
+            this.random = random;
+            this.cumulative = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cumulative[rank] = sum;
+            }
+
+            this.indexByRank = new int[n];
+            for (int i = 0; i < n; i++) {
+                indexByRank[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = indexByRank[i];
+                indexByRank[i] = indexByRank[j];
+                indexByRank[j] = swap;
+            }
+        }
+
+        int next() {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int rank = Arrays.binarySearch(cumulative, target);
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            return indexByRank[Math.min(rank, indexByRank.length - 1)];
+        }
+    }
+}
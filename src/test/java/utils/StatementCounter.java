@@ -0,0 +1,19 @@
+package utils;
+
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the SQL statements an operation sends to the database, using the Hibernate statistics
+ * enabled in the test configuration.
+ */
+public class StatementCounter {
+
+    private StatementCounter() {}
+
+    public static long count(Runnable operation) {
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        statistics.clear();
+        operation.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
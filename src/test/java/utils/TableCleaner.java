@@ -1,6 +1,8 @@
 package utils;
 
+import data.dao.DAOFactory;
 import data.dependencies.LibrarianContract;
+import data.dependencies.TableData;
 import domain.LibrarianModel;
 
 public class TableCleaner {
@@ -9,15 +11,18 @@ public class TableCleaner {
     private TableCleaner() {}
 
     public static void clearTable(Class<?> entityClass) {
-        String[][] data = model.getData(entityClass);
+        TableData data = model.getData(entityClass);
+        int idColumn = data.indexOf("id");
 
-        for (String[] record : data) {
+        for (int row = 0; row < data.getRowCount(); row++) {
             try {
-                int id = Integer.parseInt(record[0]);
+                int id = data.getInt(row, idColumn);
                 model.delete(id, entityClass);
             } catch (Exception e) {
                 System.out.println(e.getMessage());
             }
         }
+        // Rows that could not be deleted one by one may be removed by other means, so nothing cached is trusted
+        DAOFactory.getDAO(entityClass).invalidateCache();
     }
 }